@@ -0,0 +1,83 @@
+package com.loginapp.config;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Immutable set of bandwidths enforced together by one bucket, e.g. a burst
+ * limit plus a sustained limit. Each bandwidth refills its full capacity once
+ * per period. Shared by every bucket of a policy.
+ */
+public final class BucketLimits {
+
+    private final long[] capacities;
+    private final long[] periodNanos;
+    private final long maxPeriodNanos;
+
+    public BucketLimits(long[] capacities, long[] periodNanos) {
+        if (capacities.length == 0 || capacities.length != periodNanos.length) {
+            throw new IllegalArgumentException("A bucket needs at least one bandwidth");
+        }
+        long max = 0;
+        for (int i = 0; i < capacities.length; i++) {
+            if (capacities[i] <= 0 || periodNanos[i] <= 0) {
+                throw new IllegalArgumentException("Bandwidth capacity and period must be positive");
+            }
+            max = Math.max(max, periodNanos[i]);
+        }
+        this.capacities = capacities.clone();
+        this.periodNanos = periodNanos.clone();
+        this.maxPeriodNanos = max;
+    }
+
+    public static BucketLimits of(long capacity, Duration period) {
+        return new BucketLimits(new long[]{capacity}, new long[]{period.toNanos()});
+    }
+
+    public int size() {
+        return capacities.length;
+    }
+
+    public long getCapacity(int bandwidth) {
+        return capacities[bandwidth];
+    }
+
+    public long getPeriodNanos(int bandwidth) {
+        return periodNanos[bandwidth];
+    }
+
+    /**
+     * After this long without use every bandwidth is full again.
+     */
+    public long getMaxPeriodNanos() {
+        return maxPeriodNanos;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BucketLimits other)) {
+            return false;
+        }
+        return Arrays.equals(capacities, other.capacities) && Arrays.equals(periodNanos, other.periodNanos);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(capacities) + Arrays.hashCode(periodNanos);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < capacities.length; i++) {
+            if (i > 0) {
+                sb.append('+');
+            }
+            sb.append(capacities[i]).append('/').append(Duration.ofNanos(periodNanos[i]));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,134 @@
+package com.loginapp.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resolves the client IP of a request. X-Forwarded-For is only honoured when the
+ * direct peer is a trusted proxy; the header is then walked right to left and
+ * the first address that is not a trusted proxy is the client. Parsing works on
+ * string regions, so no arrays are allocated per request.
+ */
+@Component
+public class ClientIpResolver {
+
+    private static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+
+    @Value("${app.rate-limit.trusted-proxies:127.0.0.0/8,10.0.0.0/8,172.16.0.0/12,192.168.0.0/16,::1,0:0:0:0:0:0:0:1}")
+    private String[] trustedProxies;
+
+    private long[] trustedNetworks = new long[0];
+    private long[] trustedMasks = new long[0];
+    private String[] trustedAddresses = new String[0];
+
+    @PostConstruct
+    public void init() {
+        List<long[]> networks = new ArrayList<>();
+        List<String> addresses = new ArrayList<>();
+        for (String entry : trustedProxies) {
+            String proxy = entry.trim();
+            if (proxy.isEmpty()) {
+                continue;
+            }
+            int slash = proxy.indexOf('/');
+            long address = parseIpv4(proxy, 0, slash < 0 ? proxy.length() : slash);
+            if (address < 0) {
+                addresses.add(proxy);
+                continue;
+            }
+            int prefix = slash < 0 ? 32 : Integer.parseInt(proxy.substring(slash + 1));
+            long mask = prefix == 0 ? 0L : (0xFFFFFFFFL << (32 - prefix)) & 0xFFFFFFFFL;
+            networks.add(new long[]{address & mask, mask});
+        }
+        trustedNetworks = new long[networks.size()];
+        trustedMasks = new long[networks.size()];
+        for (int i = 0; i < networks.size(); i++) {
+            trustedNetworks[i] = networks.get(i)[0];
+            trustedMasks[i] = networks.get(i)[1];
+        }
+        trustedAddresses = addresses.toArray(new String[0]);
+    }
+
+    public String resolve(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        if (!isTrusted(remoteAddr, 0, remoteAddr.length())) {
+            return remoteAddr;
+        }
+        String forwardedFor = request.getHeader(FORWARDED_FOR_HEADER);
+        if (forwardedFor == null || forwardedFor.isEmpty()) {
+            return remoteAddr;
+        }
+
+        int end = forwardedFor.length();
+        while (end > 0) {
+            int comma = forwardedFor.lastIndexOf(',', end - 1);
+            int start = comma + 1;
+            int trimmedEnd = end;
+            while (start < trimmedEnd && forwardedFor.charAt(start) == ' ') {
+                start++;
+            }
+            while (trimmedEnd > start && forwardedFor.charAt(trimmedEnd - 1) == ' ') {
+                trimmedEnd--;
+            }
+            if (start < trimmedEnd && (comma < 0 || !isTrusted(forwardedFor, start, trimmedEnd))) {
+                return start == 0 && trimmedEnd == forwardedFor.length()
+                        ? forwardedFor
+                        : forwardedFor.substring(start, trimmedEnd);
+            }
+            end = comma;
+        }
+        return remoteAddr;
+    }
+
+    private boolean isTrusted(String value, int from, int to) {
+        long address = parseIpv4(value, from, to);
+        if (address >= 0) {
+            for (int i = 0; i < trustedNetworks.length; i++) {
+                if ((address & trustedMasks[i]) == trustedNetworks[i]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        int length = to - from;
+        for (String trusted : trustedAddresses) {
+            if (trusted.length() == length && value.regionMatches(true, from, trusted, 0, length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parse a dotted-quad IPv4 address from {@code value[from, to)}, or return -1.
+     */
+    static long parseIpv4(String value, int from, int to) {
+        long result = 0;
+        int octets = 0;
+        int octet = -1;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                octet = (octet < 0 ? 0 : octet * 10) + (c - '0');
+                if (octet > 255) {
+                    return -1;
+                }
+            } else if (c == '.' && octet >= 0 && octets < 3) {
+                result = (result << 8) | octet;
+                octets++;
+                octet = -1;
+            } else {
+                return -1;
+            }
+        }
+        if (octet < 0 || octets != 3) {
+            return -1;
+        }
+        return (result << 8) | octet;
+    }
+}
@@ -0,0 +1,64 @@
+package com.loginapp.config;
+
+/**
+ * Minimal token bucket with interval refill: each bandwidth restores its full
+ * capacity once per period, and a request must fit every bandwidth. Holds two
+ * longs per bandwidth plus a reference to the shared limits, in place of a
+ * Bucket4j bucket and its configuration graph.
+ */
+public class CompactTokenBucket implements RateLimitBucket {
+
+    private final BucketLimits limits;
+    private final long[] tokens;
+    private final long[] lastRefillNanos;
+
+    public CompactTokenBucket(BucketLimits limits, long nowNanos) {
+        this.limits = limits;
+        this.tokens = new long[limits.size()];
+        this.lastRefillNanos = new long[limits.size()];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = limits.getCapacity(i);
+            lastRefillNanos[i] = nowNanos;
+        }
+    }
+
+    @Override
+    public RateLimitResult tryConsume(long numTokens) {
+        return tryConsume(numTokens, System.nanoTime());
+    }
+
+    public synchronized RateLimitResult tryConsume(long numTokens, long nowNanos) {
+        long remaining = Long.MAX_VALUE;
+        long waitNanos = 0L;
+        boolean sufficient = true;
+        for (int i = 0; i < tokens.length; i++) {
+            refill(i, nowNanos);
+            remaining = Math.min(remaining, tokens[i]);
+            if (tokens[i] < numTokens) {
+                sufficient = false;
+                waitNanos = Math.max(waitNanos, lastRefillNanos[i] + limits.getPeriodNanos(i) - nowNanos);
+            }
+        }
+        if (!sufficient) {
+            return new RateLimitResult(false, remaining, waitNanos);
+        }
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] -= numTokens;
+        }
+        return new RateLimitResult(true, remaining - numTokens, 0L);
+    }
+
+    @Override
+    public long getRefillPeriodNanos() {
+        return limits.getMaxPeriodNanos();
+    }
+
+    private void refill(int bandwidth, long nowNanos) {
+        long period = limits.getPeriodNanos(bandwidth);
+        long periods = (nowNanos - lastRefillNanos[bandwidth]) / period;
+        if (periods > 0) {
+            tokens[bandwidth] = limits.getCapacity(bandwidth);
+            lastRefillNanos[bandwidth] += periods * period;
+        }
+    }
+}
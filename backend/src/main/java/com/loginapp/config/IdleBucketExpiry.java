@@ -0,0 +1,25 @@
+package com.loginapp.config;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+
+/**
+ * Expires a cached bucket once it has been idle for a full refill period, at
+ * which point it would be full again and dropping it changes nothing.
+ */
+class IdleBucketExpiry implements Expiry<String, RateLimitBucket> {
+
+    @Override
+    public long expireAfterCreate(String key, RateLimitBucket bucket, long currentTime) {
+        return bucket.getRefillPeriodNanos();
+    }
+
+    @Override
+    public long expireAfterUpdate(String key, RateLimitBucket bucket, long currentTime, long currentDuration) {
+        return bucket.getRefillPeriodNanos();
+    }
+
+    @Override
+    public long expireAfterRead(String key, RateLimitBucket bucket, long currentTime, long currentDuration) {
+        return bucket.getRefillPeriodNanos();
+    }
+}
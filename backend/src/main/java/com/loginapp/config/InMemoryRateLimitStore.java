@@ -0,0 +1,87 @@
+package com.loginapp.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.search.Search;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Node-local bucket store. Limits apply per replica.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "memory", matchIfMissing = true)
+@RequiredArgsConstructor
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private static final String CACHE_NAME = "rate-limit.buckets";
+
+    @Value("${app.rate-limit.max-buckets:100000}")
+    private long maxBuckets;
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * One cache per policy namespace. Each holds at most max-buckets entries
+     * (W-TinyLFU eviction keeps the most active keys) and drops buckets once
+     * idle for a full refill period.
+     */
+    private final Map<String, Cache<String, RateLimitBucket>> caches = new ConcurrentHashMap<>();
+
+    @Override
+    public RateLimitBucket resolve(String namespace, String key, BucketLimits limits) {
+        Cache<String, RateLimitBucket> cache = caches.get(namespace);
+        if (cache == null) {
+            cache = caches.computeIfAbsent(namespace, this::createCache);
+        }
+        RateLimitBucket bucket = cache.getIfPresent(key);
+        if (bucket == null) {
+            bucket = cache.get(key, k -> new CompactTokenBucket(limits, System.nanoTime()));
+        }
+        return bucket;
+    }
+
+    @Override
+    public void remove(String namespace, String key) {
+        Cache<String, RateLimitBucket> cache = caches.get(namespace);
+        if (cache != null) {
+            cache.invalidate(key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        caches.values().forEach(Cache::invalidateAll);
+    }
+
+    @Override
+    public void retainNamespaces(Set<String> namespaces) {
+        caches.keySet().removeIf(namespace -> {
+            if (namespaces.contains(namespace)) {
+                return false;
+            }
+            // Otherwise the series go stale, and a re-added policy would bind to the old meters
+            Search.in(meterRegistry).tags("cache", CACHE_NAME, "policy", namespace).meters()
+                    .forEach(meterRegistry::remove);
+            return true;
+        });
+    }
+
+    private Cache<String, RateLimitBucket> createCache(String namespace) {
+        Cache<String, RateLimitBucket> cache = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfter(new IdleBucketExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME, "policy", namespace);
+        return cache;
+    }
+}
@@ -0,0 +1,317 @@
+package com.loginapp.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bucket store shared by all replicas through the application datasource, so a
+ * limit such as 5 logins per 15 minutes holds across the whole deployment.
+ *
+ * <p>Each bucket is one row updated with optimistic compare-and-swap on a
+ * version column. To keep round-trips low every replica reserves a slice of
+ * the shared tokens (reservation-fraction of the capacity) and serves requests
+ * from it locally until the slice or the refill period runs out. An empty
+ * shared bucket is remembered locally until its next refill, so rejected
+ * requests do not touch the database either.</p>
+ *
+ * <p>A policy with several bandwidths uses one row per bandwidth. A request
+ * that passes the first bandwidth but fails a later one still spends the
+ * earlier token, which errs on the strict side.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "jdbc")
+@RequiredArgsConstructor
+@Slf4j
+public class JdbcRateLimitStore implements RateLimitStore {
+
+    static final String CREATE_TABLE_SQL = "CREATE TABLE IF NOT EXISTS rate_limit_buckets ("
+            + "bucket_key VARCHAR(255) PRIMARY KEY, "
+            + "tokens BIGINT NOT NULL, "
+            + "refill_anchor BIGINT NOT NULL, "
+            + "expires_at BIGINT NOT NULL, "
+            + "version BIGINT NOT NULL)";
+
+    private static final String SELECT_SQL =
+            "SELECT tokens, refill_anchor, version FROM rate_limit_buckets WHERE bucket_key = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO rate_limit_buckets (bucket_key, tokens, refill_anchor, expires_at, version) VALUES (?, ?, ?, ?, 0)";
+    private static final String UPDATE_SQL =
+            "UPDATE rate_limit_buckets SET tokens = ?, refill_anchor = ?, expires_at = ?, version = version + 1 "
+                    + "WHERE bucket_key = ? AND version = ?";
+
+    private static final int MAX_CAS_ATTEMPTS = 5;
+
+    @Value("${app.rate-limit.max-buckets:100000}")
+    private long maxBuckets;
+
+    @Value("${app.rate-limit.jdbc.reservation-fraction:0.1}")
+    private double reservationFraction;
+
+    @Value("${app.rate-limit.jdbc.create-table:true}")
+    private boolean createTable;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Cache<String, RateLimitBucket>> localBuckets = new ConcurrentHashMap<>();
+    private Counter roundTrips;
+    private Counter casConflicts;
+
+    @PostConstruct
+    public void init() {
+        if (createTable) {
+            jdbcTemplate.execute(CREATE_TABLE_SQL);
+        }
+        this.roundTrips = meterRegistry.counter("rate.limit.store.reservations");
+        this.casConflicts = meterRegistry.counter("rate.limit.store.cas.conflicts");
+        log.info("Shared JDBC rate-limit store enabled (reservation fraction {})", reservationFraction);
+    }
+
+    @Override
+    public RateLimitBucket resolve(String namespace, String key, BucketLimits limits) {
+        Cache<String, RateLimitBucket> cache = localBuckets.get(namespace);
+        if (cache == null) {
+            cache = localBuckets.computeIfAbsent(namespace, n -> Caffeine.newBuilder()
+                    .maximumSize(maxBuckets)
+                    .expireAfter(new IdleBucketExpiry())
+                    .build());
+        }
+        RateLimitBucket bucket = cache.getIfPresent(key);
+        if (bucket == null) {
+            bucket = cache.get(key, k -> createBucket(namespace + ":" + k, limits));
+        }
+        return bucket;
+    }
+
+    @Override
+    public void remove(String namespace, String key) {
+        Cache<String, RateLimitBucket> cache = localBuckets.get(namespace);
+        if (cache != null) {
+            cache.invalidate(key);
+        }
+        String bucketKey = namespace + ":" + key;
+        jdbcTemplate.update("DELETE FROM rate_limit_buckets WHERE bucket_key = ? OR bucket_key LIKE ?",
+                bucketKey, bucketKey + "#%");
+    }
+
+    @Override
+    public void clear() {
+        localBuckets.values().forEach(Cache::invalidateAll);
+        jdbcTemplate.update("DELETE FROM rate_limit_buckets");
+    }
+
+    @Override
+    public void retainNamespaces(Set<String> namespaces) {
+        localBuckets.keySet().removeIf(namespace -> !namespaces.contains(namespace));
+    }
+
+    /**
+     * Delete rows whose refill period ended without further use; they would be full again.
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.jdbc.purge-interval:600000}")
+    public void purgeExpired() {
+        int purged = jdbcTemplate.update("DELETE FROM rate_limit_buckets WHERE expires_at < ?",
+                System.currentTimeMillis());
+        if (purged > 0) {
+            log.debug("Purged {} idle rate-limit buckets", purged);
+        }
+    }
+
+    /**
+     * Take up to {@code wanted} tokens from the shared bucket.
+     */
+    Reservation reserve(String key, long capacity, long periodMs, long wanted) {
+        roundTrips.increment();
+        for (int attempt = 0; attempt < MAX_CAS_ATTEMPTS; attempt++) {
+            long now = System.currentTimeMillis();
+            BucketRow row = jdbcTemplate.query(SELECT_SQL, (ResultSetExtractor<BucketRow>) rs -> rs.next()
+                    ? new BucketRow(rs.getLong(1), rs.getLong(2), rs.getLong(3))
+                    : null, key);
+
+            if (row == null) {
+                long granted = Math.min(wanted, capacity);
+                try {
+                    jdbcTemplate.update(INSERT_SQL, key, capacity - granted, now, now + periodMs);
+                    return new Reservation(granted, capacity - granted, now);
+                } catch (DuplicateKeyException ex) {
+                    casConflicts.increment();
+                    continue;
+                }
+            }
+
+            long tokens = row.tokens;
+            long anchor = row.refillAnchor;
+            long periods = (now - anchor) / periodMs;
+            if (periods > 0) {
+                tokens = capacity;
+                anchor += periods * periodMs;
+            }
+            long granted = Math.min(wanted, tokens);
+            if (granted == 0) {
+                return new Reservation(0, 0, anchor);
+            }
+            int updated = jdbcTemplate.update(UPDATE_SQL, tokens - granted, anchor, anchor + periodMs, key, row.version);
+            if (updated == 1) {
+                return new Reservation(granted, tokens - granted, anchor);
+            }
+            casConflicts.increment();
+        }
+        log.warn("Rate-limit bucket {} is too contended, rejecting request", key);
+        // Anchor one period back so the caller retries on its next request instead of waiting a period
+        return new Reservation(0, 0, System.currentTimeMillis() - periodMs);
+    }
+
+    private RateLimitBucket createBucket(String bucketKey, BucketLimits limits) {
+        if (limits.size() == 1) {
+            return newReservingBucket(bucketKey, limits, 0);
+        }
+        RateLimitBucket[] bandwidths = new RateLimitBucket[limits.size()];
+        for (int i = 0; i < bandwidths.length; i++) {
+            bandwidths[i] = newReservingBucket(i == 0 ? bucketKey : bucketKey + "#" + i, limits, i);
+        }
+        return new MultiBandwidthBucket(bandwidths, limits.getMaxPeriodNanos());
+    }
+
+    private ReservingBucket newReservingBucket(String bucketKey, BucketLimits limits, int bandwidth) {
+        long capacity = limits.getCapacity(bandwidth);
+        return new ReservingBucket(bucketKey, capacity,
+                TimeUnit.NANOSECONDS.toMillis(limits.getPeriodNanos(bandwidth)),
+                Math.max(1L, (long) (capacity * reservationFraction)));
+    }
+
+    private static final class BucketRow {
+        private final long tokens;
+        private final long refillAnchor;
+        private final long version;
+
+        private BucketRow(long tokens, long refillAnchor, long version) {
+            this.tokens = tokens;
+            this.refillAnchor = refillAnchor;
+            this.version = version;
+        }
+    }
+
+    static final class Reservation {
+        private final long granted;
+        private final long sharedRemaining;
+        private final long refillAnchor;
+
+        private Reservation(long granted, long sharedRemaining, long refillAnchor) {
+            this.granted = granted;
+            this.sharedRemaining = sharedRemaining;
+            this.refillAnchor = refillAnchor;
+        }
+    }
+
+    /**
+     * Replica-local view of a shared bucket holding the tokens reserved for this node.
+     */
+    private final class ReservingBucket implements RateLimitBucket {
+
+        private final String key;
+        private final long capacity;
+        private final long periodMs;
+        private final long reservationSize;
+        private final ReentrantLock lock = new ReentrantLock();
+        private long localTokens;
+        private long sharedRemaining;
+        private long periodEndMs;
+
+        private ReservingBucket(String key, long capacity, long periodMs, long reservationSize) {
+            this.key = key;
+            this.capacity = capacity;
+            this.periodMs = periodMs;
+            this.reservationSize = reservationSize;
+        }
+
+        /**
+         * Guarded by a lock rather than {@code synchronized}: a reservation is a
+         * database round-trip, and blocking in a monitor would pin a virtual thread.
+         */
+        @Override
+        public RateLimitResult tryConsume(long numTokens) {
+            lock.lock();
+            try {
+                return consume(numTokens);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private RateLimitResult consume(long numTokens) {
+            long now = System.currentTimeMillis();
+            boolean periodOver = now >= periodEndMs;
+            if (periodOver) {
+                localTokens = 0;
+            }
+            if (localTokens < numTokens && (periodOver || sharedRemaining > 0)) {
+                Reservation reservation = reserve(key, capacity, periodMs,
+                        Math.max(numTokens - localTokens, reservationSize));
+                localTokens += reservation.granted;
+                sharedRemaining = reservation.sharedRemaining;
+                periodEndMs = reservation.refillAnchor + periodMs;
+            }
+            if (localTokens >= numTokens) {
+                localTokens -= numTokens;
+                return new RateLimitResult(true, localTokens + sharedRemaining, 0L);
+            }
+            return new RateLimitResult(false, localTokens + sharedRemaining,
+                    TimeUnit.MILLISECONDS.toNanos(Math.max(0L, periodEndMs - now)));
+        }
+
+        @Override
+        public long getRefillPeriodNanos() {
+            return TimeUnit.MILLISECONDS.toNanos(periodMs);
+        }
+    }
+
+    /**
+     * Enforces several shared bandwidths; a request must pass all of them.
+     */
+    private static final class MultiBandwidthBucket implements RateLimitBucket {
+
+        private final RateLimitBucket[] bandwidths;
+        private final long refillPeriodNanos;
+
+        private MultiBandwidthBucket(RateLimitBucket[] bandwidths, long refillPeriodNanos) {
+            this.bandwidths = bandwidths;
+            this.refillPeriodNanos = refillPeriodNanos;
+        }
+
+        @Override
+        public RateLimitResult tryConsume(long numTokens) {
+            long remaining = Long.MAX_VALUE;
+            for (RateLimitBucket bandwidth : bandwidths) {
+                RateLimitResult result = bandwidth.tryConsume(numTokens);
+                if (!result.isConsumed()) {
+                    return result;
+                }
+                remaining = Math.min(remaining, result.getRemainingTokens());
+            }
+            return new RateLimitResult(true, remaining, 0L);
+        }
+
+        @Override
+        public long getRefillPeriodNanos() {
+            return refillPeriodNanos;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.loginapp.config;
+
+/**
+ * A rate-limit bucket resolved from a {@link RateLimitStore}.
+ */
+public interface RateLimitBucket {
+
+    RateLimitResult tryConsume(long numTokens);
+
+    /**
+     * Period after which an untouched bucket is full again and can be evicted.
+     */
+    long getRefillPeriodNanos();
+}
@@ -1,67 +1,144 @@
 package com.loginapp.config;
 
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.ConsumptionProbe;
+import com.loginapp.security.UserPrincipal;
+import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class RateLimitInterceptor implements HandlerInterceptor {
-    
+
+    private static final String REMAINING_HEADER = "X-Rate-Limit-Remaining";
+    private static final String RETRY_AFTER_HEADER = "X-Rate-Limit-Retry-After-Seconds";
+
+    private static final byte[] BODY_PREFIX =
+            "{\"error\":\"Too many requests\",\"message\":\"Rate limit exceeded. Try again in "
+                    .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] BODY_MIDDLE = " seconds\",\"retryAfter\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] BODY_SUFFIX = "}".getBytes(StandardCharsets.UTF_8);
+    private static final int BODY_CAPACITY = 256;
+
+    /** Header values for small counts, so the hot path does not format numbers. */
+    private static final String[] SMALL_NUMBERS = new String[1024];
+
+    static {
+        for (int i = 0; i < SMALL_NUMBERS.length; i++) {
+            SMALL_NUMBERS[i] = String.valueOf(i);
+        }
+    }
+
     private final RateLimitConfig rateLimitConfig;
+    private final RateLimitPolicyRegistry policyRegistry;
+    private final ClientIpResolver clientIpResolver;
     
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
-        String uri = request.getRequestURI();
-        String clientIp = getClientIP(request);
+        RateLimitPolicy policy = policyRegistry.resolve(request, handler);
+        String clientIp = clientIpResolver.resolve(request);
         
-        Bucket bucket = getBucketForEndpoint(uri, clientIp);
-        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+        RateLimitResult probe = tryConsume(policy, clientIp);
         
         if (probe.isConsumed()) {
             // Request allowed
-            response.addHeader("X-Rate-Limit-Remaining", String.valueOf(probe.getRemainingTokens()));
+            response.setHeader(REMAINING_HEADER, toHeaderValue(probe.getRemainingTokens()));
             return true;
         } else {
             // Rate limit exceeded
-            long waitForRefill = probe.getNanosToWaitForRefill() / 1_000_000_000;
+            long waitForRefill = TimeUnit.NANOSECONDS.toSeconds(probe.getNanosToWaitForRefill());
             response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-            response.setContentType("application/json");
-            response.getWriter().write(String.format(
-                "{\"error\":\"Too many requests\",\"message\":\"Rate limit exceeded. Try again in %d seconds\",\"retryAfter\":%d}",
-                waitForRefill, waitForRefill
-            ));
-            response.addHeader("X-Rate-Limit-Retry-After-Seconds", String.valueOf(waitForRefill));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setHeader(RETRY_AFTER_HEADER, toHeaderValue(waitForRefill));
+            writeRejectionBody(response, waitForRefill);
             
-            log.warn("Rate limit exceeded for IP: {} on endpoint: {}", clientIp, uri);
+            log.warn("Rate limit exceeded for IP: {} on policy: {}", clientIp, policy.getName());
             return false;
         }
     }
     
-    private Bucket getBucketForEndpoint(String uri, String clientIp) {
-        if (uri.contains("/auth/login")) {
-            return rateLimitConfig.getAuthBucket(clientIp);
-        } else if (uri.contains("/auth/register")) {
-            return rateLimitConfig.getRegistrationBucket(clientIp);
-        } else if (uri.contains("/forgot-password") || uri.contains("/reset-password")) {
-            return rateLimitConfig.getPasswordResetBucket(clientIp);
-        } else {
-            return rateLimitConfig.getGeneralBucket(clientIp);
+    private RateLimitResult tryConsume(RateLimitPolicy policy, String clientIp) {
+        switch (policy.getKey()) {
+            case USER -> {
+                String userId = currentUserId();
+                return userId != null
+                        ? rateLimitConfig.resolveUserBucket(policy, userId).tryConsume(1)
+                        : rateLimitConfig.resolveIpBucket(policy, clientIp).tryConsume(1);
+            }
+            case IP_AND_USER -> {
+                RateLimitResult ipResult = rateLimitConfig.resolveIpBucket(policy, clientIp).tryConsume(1);
+                String userId = currentUserId();
+                if (!ipResult.isConsumed() || userId == null) {
+                    return ipResult;
+                }
+                return rateLimitConfig.resolveUserBucket(policy, userId).tryConsume(1);
+            }
+            default -> {
+                return rateLimitConfig.resolveIpBucket(policy, clientIp).tryConsume(1);
+            }
         }
     }
-    
-    private String getClientIP(HttpServletRequest request) {
-        String xfHeader = request.getHeader("X-Forwarded-For");
-        if (xfHeader == null || xfHeader.isEmpty()) {
-            return request.getRemoteAddr();
+
+    /**
+     * The JWT filter has already run, so an authenticated request carries its user here.
+     */
+    private static String currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return Long.toString(principal.getId());
+        }
+        return null;
+    }
+
+    private static String toHeaderValue(long value) {
+        return value >= 0 && value < SMALL_NUMBERS.length ? SMALL_NUMBERS[(int) value] : String.valueOf(value);
+    }
+
+    /**
+     * Write the pre-serialized 429 body with the wait time spliced in.
+     */
+    private static void writeRejectionBody(HttpServletResponse response, long waitForRefill) throws IOException {
+        byte[] buffer = new byte[BODY_CAPACITY]; // small and short-lived; not thread-local, threads may be virtual
+        int length = 0;
+        System.arraycopy(BODY_PREFIX, 0, buffer, length, BODY_PREFIX.length);
+        length += BODY_PREFIX.length;
+        length = writeDecimal(buffer, length, waitForRefill);
+        System.arraycopy(BODY_MIDDLE, 0, buffer, length, BODY_MIDDLE.length);
+        length += BODY_MIDDLE.length;
+        length = writeDecimal(buffer, length, waitForRefill);
+        System.arraycopy(BODY_SUFFIX, 0, buffer, length, BODY_SUFFIX.length);
+        length += BODY_SUFFIX.length;
+
+        response.setContentLength(length);
+        ServletOutputStream out = response.getOutputStream();
+        out.write(buffer, 0, length);
+    }
+
+    private static int writeDecimal(byte[] buffer, int offset, long value) {
+        if (value <= 0) {
+            buffer[offset] = '0';
+            return offset + 1;
+        }
+        int digits = 0;
+        for (long v = value; v > 0; v /= 10) {
+            digits++;
+        }
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
         }
-        return xfHeader.split(",")[0].trim();
+        return offset + digits;
     }
 }
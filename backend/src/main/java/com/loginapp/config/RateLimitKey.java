@@ -0,0 +1,16 @@
+package com.loginapp.config;
+
+/**
+ * What a rate-limit policy counts requests against.
+ */
+public enum RateLimitKey {
+
+    /** The resolved client IP. */
+    IP,
+
+    /** The authenticated user id from the JWT; anonymous requests fall back to the IP. */
+    USER,
+
+    /** Both: the request must pass the IP bucket and, when authenticated, the user bucket. */
+    IP_AND_USER
+}
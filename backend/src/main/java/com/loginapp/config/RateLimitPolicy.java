@@ -0,0 +1,34 @@
+package com.loginapp.config;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * A compiled rate-limit policy. Bucket namespaces include the limits, so
+ * buckets created under an older definition are never reused after a reload.
+ */
+@Getter
+public class RateLimitPolicy {
+
+    private final String name;
+    private final List<String> paths;
+    private final RateLimitKey key;
+    private final BucketLimits limits;
+    private final String ipNamespace;
+    private final String userNamespace;
+
+    public RateLimitPolicy(String name, List<String> paths, RateLimitKey key, BucketLimits limits) {
+        this.name = name;
+        this.paths = List.copyOf(paths);
+        this.key = key;
+        this.limits = limits;
+        this.ipNamespace = name + "[" + limits + "]:ip";
+        this.userNamespace = name + "[" + limits + "]:user";
+    }
+
+    @Override
+    public String toString() {
+        return name + "[" + limits + ", key=" + key + "]";
+    }
+}
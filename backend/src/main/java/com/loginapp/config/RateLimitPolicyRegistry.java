@@ -0,0 +1,236 @@
+package com.loginapp.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiles the configured rate-limit policies into a lookup table keyed by
+ * handler method, so the interceptor resolves a policy with a single map
+ * lookup. Policies can be reloaded from {@code app.rate-limit.policy-file}
+ * without a restart; the new table is swapped in atomically.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitPolicyRegistry {
+
+    private final RateLimitProperties properties;
+    private final RateLimitStore rateLimitStore;
+
+    private volatile CompiledPolicies compiled;
+    private volatile Map<Method, Set<String>> handlerPatterns = Map.of();
+    private List<RateLimitProperties.Policy> definitions;
+    private String defaultPolicyName;
+    private long policyFileModified = -1L;
+
+    @PostConstruct
+    public void init() {
+        this.definitions = properties.getPolicies();
+        this.defaultPolicyName = properties.getDefaultPolicy();
+        reloadIfChanged();
+        if (compiled == null) {
+            this.compiled = compile(definitions, defaultPolicyName, handlerPatterns);
+        }
+    }
+
+    @EventListener
+    public synchronized void onContextRefreshed(ContextRefreshedEvent event) {
+        Map<Method, Set<String>> patterns = new HashMap<>();
+        event.getApplicationContext().getBeansOfType(RequestMappingHandlerMapping.class).values()
+                .forEach(mapping -> mapping.getHandlerMethods().forEach((info, handlerMethod) ->
+                        patterns.computeIfAbsent(handlerMethod.getMethod(), m -> new HashSet<>())
+                                .addAll(info.getPatternValues())));
+        this.handlerPatterns = Map.copyOf(patterns);
+        this.compiled = compile(definitions, defaultPolicyName, handlerPatterns);
+        log.info("Rate-limit policies compiled for {} handler methods: {}",
+                patterns.size(), compiled.policies.values());
+    }
+
+    /**
+     * Re-read the policy file when it has changed since the last load.
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.reload-interval:30000}")
+    public synchronized void reloadIfChanged() {
+        String policyFile = properties.getPolicyFile();
+        if (!StringUtils.hasText(policyFile)) {
+            return;
+        }
+        Path path = Path.of(policyFile);
+        try {
+            if (!Files.isRegularFile(path)) {
+                return;
+            }
+            long modified = Files.getLastModifiedTime(path).toMillis();
+            if (modified == policyFileModified) {
+                return;
+            }
+            List<PropertySource<?>> sources = new YamlPropertySourceLoader()
+                    .load("rate-limit-policies", new FileSystemResource(path));
+            RateLimitProperties loaded = new Binder(ConfigurationPropertySources.from(sources))
+                    .bind("app.rate-limit", RateLimitProperties.class)
+                    .orElseGet(RateLimitProperties::new);
+
+            CompiledPolicies reloaded = compile(loaded.getPolicies(), loaded.getDefaultPolicy(), handlerPatterns);
+            this.definitions = loaded.getPolicies();
+            this.defaultPolicyName = loaded.getDefaultPolicy();
+            this.compiled = reloaded;
+            this.policyFileModified = modified;
+            rateLimitStore.retainNamespaces(reloaded.namespaces());
+            log.info("Rate-limit policies reloaded from {}: {}", path, reloaded.policies.values());
+        } catch (IOException | RuntimeException ex) {
+            log.error("Could not load rate-limit policies from {}, keeping the current ones", path, ex);
+        }
+    }
+
+    /**
+     * Policy for a request. Mapped handler methods hit the precompiled table;
+     * anything else is matched against the path patterns.
+     */
+    public RateLimitPolicy resolve(HttpServletRequest request, Object handler) {
+        CompiledPolicies current = compiled;
+        if (handler instanceof HandlerMethod handlerMethod) {
+            RateLimitPolicy policy = current.byHandler.get(handlerMethod.getMethod());
+            if (policy != null) {
+                return policy;
+            }
+        }
+        return current.match(request.getRequestURI());
+    }
+
+    public Map<String, RateLimitPolicy> getPolicies() {
+        return compiled.policies;
+    }
+
+    private static CompiledPolicies compile(List<RateLimitProperties.Policy> definitions, String defaultPolicyName,
+                                            Map<Method, Set<String>> handlerPatterns) {
+        Map<String, RateLimitPolicy> policies = new LinkedHashMap<>();
+        List<PathPattern> patterns = new ArrayList<>();
+        List<RateLimitPolicy> patternPolicies = new ArrayList<>();
+
+        for (RateLimitProperties.Policy definition : definitions) {
+            if (!StringUtils.hasText(definition.getName())) {
+                throw new IllegalArgumentException("Rate-limit policy without a name");
+            }
+            if (definition.getBandwidths() == null || definition.getBandwidths().isEmpty()) {
+                throw new IllegalArgumentException("Rate-limit policy " + definition.getName() + " has no bandwidths");
+            }
+            long[] capacities = new long[definition.getBandwidths().size()];
+            long[] periods = new long[capacities.length];
+            for (int i = 0; i < capacities.length; i++) {
+                RateLimitProperties.Bandwidth bandwidth = definition.getBandwidths().get(i);
+                Duration period = bandwidth.getPeriod();
+                if (period == null) {
+                    throw new IllegalArgumentException("Rate-limit policy " + definition.getName() + " has a bandwidth without a period");
+                }
+                capacities[i] = bandwidth.getCapacity();
+                periods[i] = period.toNanos();
+            }
+            List<String> paths = definition.getPaths() != null ? definition.getPaths() : List.of();
+            RateLimitKey key = definition.getKey() != null ? definition.getKey() : RateLimitKey.IP;
+            RateLimitPolicy policy = new RateLimitPolicy(definition.getName(), paths, key,
+                    new BucketLimits(capacities, periods));
+            if (policies.putIfAbsent(policy.getName(), policy) != null) {
+                throw new IllegalArgumentException("Duplicate rate-limit policy " + policy.getName());
+            }
+            for (String path : paths) {
+                patterns.add(PathPatternParser.defaultInstance.parse(path));
+                patternPolicies.add(policy);
+            }
+        }
+
+        RateLimitPolicy defaultPolicy = policies.get(defaultPolicyName);
+        if (defaultPolicy == null) {
+            throw new IllegalArgumentException("Default rate-limit policy " + defaultPolicyName + " is not defined");
+        }
+
+        CompiledPolicies compiled = new CompiledPolicies(Map.copyOf(policies), patterns, patternPolicies,
+                defaultPolicy, Map.of());
+        Map<Method, RateLimitPolicy> byHandler = new HashMap<>();
+        handlerPatterns.forEach((method, methodPatterns) -> byHandler.put(method, compiled.matchAny(methodPatterns)));
+        return new CompiledPolicies(compiled.policies, patterns, patternPolicies, defaultPolicy, Map.copyOf(byHandler));
+    }
+
+    private static final class CompiledPolicies {
+
+        private final Map<String, RateLimitPolicy> policies;
+        private final List<PathPattern> patterns;
+        private final List<RateLimitPolicy> patternPolicies;
+        private final RateLimitPolicy defaultPolicy;
+        private final Map<Method, RateLimitPolicy> byHandler;
+
+        private CompiledPolicies(Map<String, RateLimitPolicy> policies, List<PathPattern> patterns,
+                                 List<RateLimitPolicy> patternPolicies, RateLimitPolicy defaultPolicy,
+                                 Map<Method, RateLimitPolicy> byHandler) {
+            this.policies = policies;
+            this.patterns = patterns;
+            this.patternPolicies = patternPolicies;
+            this.defaultPolicy = defaultPolicy;
+            this.byHandler = byHandler;
+        }
+
+        private RateLimitPolicy match(String path) {
+            PathContainer container = PathContainer.parsePath(path);
+            for (int i = 0; i < patterns.size(); i++) {
+                if (patterns.get(i).matches(container)) {
+                    return patternPolicies.get(i);
+                }
+            }
+            return defaultPolicy;
+        }
+
+        /**
+         * Policy for a handler mapped to several patterns: the first policy that
+         * matches any of them, in declaration order.
+         */
+        private RateLimitPolicy matchAny(Set<String> handlerPatterns) {
+            List<PathContainer> containers = handlerPatterns.stream().map(PathContainer::parsePath).toList();
+            for (int i = 0; i < patterns.size(); i++) {
+                for (PathContainer container : containers) {
+                    if (patterns.get(i).matches(container)) {
+                        return patternPolicies.get(i);
+                    }
+                }
+            }
+            return defaultPolicy;
+        }
+
+        private Set<String> namespaces() {
+            Set<String> namespaces = new HashSet<>();
+            for (RateLimitPolicy policy : policies.values()) {
+                namespaces.add(policy.getIpNamespace());
+                namespaces.add(policy.getUserNamespace());
+            }
+            return namespaces;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.loginapp.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rate-limit policies bound from {@code app.rate-limit}. The built-in defaults
+ * match the limits the application has always enforced.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * Policy applied to requests no other policy matches.
+     */
+    private String defaultPolicy = "general";
+
+    /**
+     * Optional YAML file with the same {@code app.rate-limit} structure. When set
+     * its policies replace the ones above and are reloaded when the file changes.
+     */
+    private String policyFile;
+
+    /**
+     * Policies in match order; the first whose path pattern matches wins.
+     */
+    private List<Policy> policies = new ArrayList<>(List.of(
+            new Policy("auth", List.of("/api/auth/login"), RateLimitKey.IP,
+                    List.of(new Bandwidth(5, Duration.ofMinutes(15)))),
+            new Policy("registration", List.of("/api/auth/register"), RateLimitKey.IP,
+                    List.of(new Bandwidth(3, Duration.ofHours(1)))),
+            new Policy("password-reset", List.of("/api/auth/forgot-password", "/api/auth/reset-password"),
+                    RateLimitKey.IP, List.of(new Bandwidth(3, Duration.ofHours(1)))),
+            new Policy("general", List.of("/api/**"), RateLimitKey.IP,
+                    List.of(new Bandwidth(100, Duration.ofMinutes(1))))
+    ));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Policy {
+        private String name;
+        private List<String> paths = new ArrayList<>();
+        private RateLimitKey key = RateLimitKey.IP;
+        private List<Bandwidth> bandwidths = new ArrayList<>();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bandwidth {
+        private long capacity;
+        private Duration period;
+    }
+}
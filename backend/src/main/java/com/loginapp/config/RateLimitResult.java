@@ -0,0 +1,14 @@
+package com.loginapp.config;
+
+import lombok.Value;
+
+/**
+ * Outcome of trying to take tokens from a rate-limit bucket.
+ */
+@Value
+public class RateLimitResult {
+
+    boolean consumed;
+    long remainingTokens;
+    long nanosToWaitForRefill;
+}
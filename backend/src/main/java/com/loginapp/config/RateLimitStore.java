@@ -0,0 +1,25 @@
+package com.loginapp.config;
+
+import java.util.Set;
+
+/**
+ * Storage backend for rate-limit buckets. The in-memory store limits each
+ * replica on its own; the JDBC store shares bucket state between replicas.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Get or create the bucket for this key within a namespace. All buckets of
+     * a namespace share the same limits.
+     */
+    RateLimitBucket resolve(String namespace, String key, BucketLimits limits);
+
+    void remove(String namespace, String key);
+
+    void clear();
+
+    /**
+     * Drop every namespace not in the given set, e.g. after policies were reloaded.
+     */
+    void retainNamespaces(Set<String> namespaces);
+}
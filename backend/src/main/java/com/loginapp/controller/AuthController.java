@@ -1,8 +1,10 @@
 package com.loginapp.controller;
 
+import com.loginapp.config.ClientIpResolver;
 import com.loginapp.dto.*;
 import com.loginapp.security.UserPrincipal;
 import com.loginapp.service.AuthService;
+import com.loginapp.service.AvailabilityIndex;
 import com.loginapp.service.EmailVerificationService;
 import com.loginapp.service.PasswordResetService;
 import com.loginapp.service.UserService;
@@ -22,6 +24,8 @@ public class AuthController {
     private final UserService userService;
     private final PasswordResetService passwordResetService;
     private final EmailVerificationService emailVerificationService;
+    private final AvailabilityIndex availabilityIndex;
+    private final ClientIpResolver clientIpResolver;
 
     @PostMapping("/login")
     public ResponseEntity<JwtResponse> login(@Valid @RequestBody LoginRequest loginRequest,
@@ -39,6 +43,17 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/check-availability")
+    public ResponseEntity<AvailabilityResponse> checkAvailability(@RequestParam(required = false) String username,
+                                                                  @RequestParam(required = false) String email) {
+        if (username == null && email == null) {
+            throw new RuntimeException("Error: username or email is required");
+        }
+        return ResponseEntity.ok(new AvailabilityResponse(
+                username != null ? availabilityIndex.isUsernameAvailable(username) : null,
+                email != null ? availabilityIndex.isEmailAvailable(email) : null));
+    }
+
     @PostMapping("/refresh")
     public ResponseEntity<JwtResponse> refreshToken(@Valid @RequestBody RefreshTokenRequest request) {
         JwtResponse response = authService.refreshToken(request);
@@ -104,10 +119,6 @@ public class AuthController {
     }
 
     private String getClientIp(HttpServletRequest request) {
-        String xfHeader = request.getHeader("X-Forwarded-For");
-        if (xfHeader == null) {
-            return request.getRemoteAddr();
-        }
-        return xfHeader.split(",")[0];
+        return clientIpResolver.resolve(request);
     }
 }
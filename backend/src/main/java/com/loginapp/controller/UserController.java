@@ -1,7 +1,9 @@
 package com.loginapp.controller;
 
+import com.loginapp.dto.AuditLogPage;
 import com.loginapp.dto.UserResponse;
 import com.loginapp.security.UserPrincipal;
+import com.loginapp.service.AuditLogService;
 import com.loginapp.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -13,7 +15,10 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class UserController {
 
+    private static final int MAX_AUDIT_PAGE_SIZE = 100;
+
     private final UserService userService;
+    private final AuditLogService auditLogService;
 
     @GetMapping("/profile")
     public ResponseEntity<UserResponse> getUserProfile(@AuthenticationPrincipal UserPrincipal userPrincipal) {
@@ -27,4 +32,12 @@ public class UserController {
         UserResponse userResponse = userService.updateUserProfile(userPrincipal.getId(), updateRequest);
         return ResponseEntity.ok(userResponse);
     }
+
+    @GetMapping("/audit-logs")
+    public ResponseEntity<AuditLogPage> getAuditLogs(@AuthenticationPrincipal UserPrincipal userPrincipal,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(defaultValue = "20") int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_AUDIT_PAGE_SIZE));
+        return ResponseEntity.ok(auditLogService.getUserAuditLogPage(userPrincipal.getId(), cursor, pageSize));
+    }
 }
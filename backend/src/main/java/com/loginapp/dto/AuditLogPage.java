@@ -0,0 +1,18 @@
+package com.loginapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLogPage {
+
+    private List<AuditLogResponse> items;
+
+    /** Pass back as {@code cursor} to get the next page; null on the last page. */
+    private String nextCursor;
+}
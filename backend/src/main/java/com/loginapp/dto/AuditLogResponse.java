@@ -0,0 +1,26 @@
+package com.loginapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One audit log entry. Also used as the JPQL constructor projection, so
+ * queries return it directly without managed entities.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditLogResponse {
+
+    private Long id;
+    private Long userId;
+    private String action;
+    private String details;
+    private String ipAddress;
+    private LocalDateTime createdAt;
+}
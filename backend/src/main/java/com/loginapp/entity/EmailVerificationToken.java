@@ -15,7 +15,8 @@ import java.time.Instant;
 public class EmailVerificationToken {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "email_verification_tokens_seq")
+    @SequenceGenerator(name = "email_verification_tokens_seq", sequenceName = "email_verification_tokens_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false, unique = true)
@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Entity
 @Table(name = "refresh_tokens")
@@ -17,14 +18,28 @@ import java.time.LocalDateTime;
 public class RefreshToken {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "refresh_tokens_seq")
+    @SequenceGenerator(name = "refresh_tokens_seq", sequenceName = "refresh_tokens_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @Column(nullable = false, unique = true)
+    /** SHA-256 digest of the token; the raw token is never stored. */
+    @Column(name = "token_hash", nullable = false, unique = true, length = 32)
+    private byte[] tokenHash;
+
+    /** Tokens rotated from the same login share a family, revoked together on reuse. */
+    @Column(name = "family_id", nullable = false)
+    private UUID familyId;
+
+    /** Set once the token has been exchanged for its successor. */
+    @Column(nullable = false)
+    private boolean revoked;
+
+    /** Raw token, only available on the instance that issued it. */
+    @Transient
     private String token;
 
     @Column(name = "expiry_date", nullable = false)
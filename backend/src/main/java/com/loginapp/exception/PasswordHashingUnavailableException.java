@@ -0,0 +1,14 @@
+package com.loginapp.exception;
+
+import lombok.Getter;
+
+@Getter
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingUnavailableException(long retryAfterSeconds) {
+        super("Server is busy, please try again later");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -1,16 +1,69 @@
 package com.loginapp.repository;
 
+import com.loginapp.dto.AuditLogResponse;
 import com.loginapp.entity.AuditLog;
 import com.loginapp.entity.User;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
     
-    List<AuditLog> findByUserOrderByCreatedAtDesc(User user);
+    /**
+     * Entries of a user since a point in time; the created_at bound lets
+     * PostgreSQL prune partitions older than {@code since}.
+     */
+    List<AuditLog> findByUserAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(User user, LocalDateTime since,
+                                                                              Pageable pageable);
+    
+    /**
+     * First page of a user's entries, newest first. Served by the
+     * (user_id, created_at DESC, id DESC) index.
+     */
+    @Query("SELECT new com.loginapp.dto.AuditLogResponse(a.id, a.user.id, a.action, a.details, a.ipAddress, a.createdAt) "
+            + "FROM AuditLog a WHERE a.user.id = :userId AND a.createdAt >= :since "
+            + "ORDER BY a.createdAt DESC, a.id DESC")
+    List<AuditLogResponse> findPage(@Param("userId") Long userId, @Param("since") LocalDateTime since,
+                                    Pageable pageable);
+    
+    /**
+     * Next page after the entry at ({@code createdAt}, {@code id}), seeking
+     * directly to it in the index instead of skipping an offset.
+     */
+    @Query("SELECT new com.loginapp.dto.AuditLogResponse(a.id, a.user.id, a.action, a.details, a.ipAddress, a.createdAt) "
+            + "FROM AuditLog a WHERE a.user.id = :userId AND a.createdAt >= :since "
+            + "AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)) "
+            + "ORDER BY a.createdAt DESC, a.id DESC")
+    List<AuditLogResponse> findPageBefore(@Param("userId") Long userId, @Param("since") LocalDateTime since,
+                                          @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                          Pageable pageable);
+    
+    /**
+     * All entries in a time range, oldest first, fetched from the database in
+     * chunks. Must be consumed and closed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.loginapp.dto.AuditLogResponse(a.id, a.user.id, a.action, a.details, a.ipAddress, a.createdAt) "
+            + "FROM AuditLog a WHERE a.createdAt >= :from AND a.createdAt < :to "
+            + "ORDER BY a.createdAt, a.id")
+    Stream<AuditLogResponse> streamBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    @Query("SELECT a.id FROM AuditLog a WHERE a.createdAt < :cutoff ORDER BY a.id")
+    List<Long> findIdsCreatedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
     
-    List<AuditLog> findTop10ByUserOrderByCreatedAtDesc(User user);
+    @Modifying
+    @Query("DELETE FROM AuditLog a WHERE a.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
 }
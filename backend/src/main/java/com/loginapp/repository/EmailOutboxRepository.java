@@ -0,0 +1,42 @@
+package com.loginapp.repository;
+
+import com.loginapp.entity.EmailOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+    
+    /**
+     * Due messages, locked FOR UPDATE SKIP LOCKED so concurrent claimers never
+     * get the same rows. Includes SENDING rows whose claim has expired.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))  // -2 = SKIP LOCKED
+    @Query("SELECT e FROM EmailOutbox e WHERE e.status IN :statuses "
+            + "AND e.nextAttemptAt <= :now ORDER BY e.nextAttemptAt, e.id")
+    List<EmailOutbox> findDueForUpdate(@Param("statuses") Collection<EmailOutbox.Status> statuses,
+                                       @Param("now") LocalDateTime now, Pageable pageable);
+    
+    long countByStatus(EmailOutbox.Status status);
+    
+    @Query("SELECT e.id FROM EmailOutbox e WHERE e.status IN :statuses AND e.createdAt < :cutoff ORDER BY e.id")
+    List<Long> findIdsByStatusCreatedBefore(@Param("statuses") Collection<EmailOutbox.Status> statuses,
+                                            @Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+    
+    @Modifying
+    @Query("DELETE FROM EmailOutbox e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
+}
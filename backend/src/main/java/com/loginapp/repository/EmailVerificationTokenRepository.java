@@ -2,12 +2,15 @@ package com.loginapp.repository;
 
 import com.loginapp.entity.EmailVerificationToken;
 import com.loginapp.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -19,7 +22,10 @@ public interface EmailVerificationTokenRepository extends JpaRepository<EmailVer
     
     void deleteByUser(User user);
     
+    @Query("SELECT t.id FROM EmailVerificationToken t WHERE t.expiryDate < :now ORDER BY t.id")
+    List<Long> findExpiredIds(@Param("now") Instant now, Pageable pageable);
+    
     @Modifying
-    @Query("DELETE FROM EmailVerificationToken t WHERE t.expiryDate < :now")
-    void deleteExpiredTokens(Instant now);
+    @Query("DELETE FROM EmailVerificationToken t WHERE t.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
 }
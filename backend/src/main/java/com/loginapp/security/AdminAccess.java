@@ -0,0 +1,28 @@
+package com.loginapp.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Decides who may use the admin endpoints. Users have no roles yet, so admins
+ * are the usernames listed in {@code app.security.admin-usernames}. Used from
+ * {@code @PreAuthorize("@adminAccess.isAdmin(authentication)")}.
+ */
+@Component
+public class AdminAccess {
+
+    private final Set<String> adminUsernames;
+
+    public AdminAccess(@Value("${app.security.admin-usernames:}") Set<String> adminUsernames) {
+        this.adminUsernames = Set.copyOf(adminUsernames);
+    }
+
+    public boolean isAdmin(Authentication authentication) {
+        return authentication != null
+                && authentication.getPrincipal() instanceof UserPrincipal principal
+                && adminUsernames.contains(principal.getUsername());
+    }
+}
@@ -0,0 +1,67 @@
+package com.loginapp.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Timers for the individual stages of login, registration, token refresh and
+ * bearer-token authentication, published as {@code auth.stage} tagged with a
+ * fixed operation and stage name. All timers are registered up front, so
+ * recording a stage is an enum-map lookup plus the timer update. SLO buckets
+ * come from {@code management.metrics.distribution.slo.auth.stage}.
+ */
+@Component
+public class AuthStageTimers {
+
+    public enum Stage {
+        LOGIN_THROTTLE_CHECK("login", "throttle_check"),
+        LOGIN_AUTHENTICATE("login", "authenticate"),
+        LOGIN_JWT_SIGN("login", "jwt_sign"),
+        LOGIN_REFRESH_TOKEN("login", "refresh_token"),
+        LOGIN_LAST_LOGIN("login", "last_login"),
+        LOGIN_REHASH("login", "rehash"),
+        LOGIN_AUDIT("login", "audit"),
+        REGISTER_AVAILABILITY_CHECK("register", "availability_check"),
+        REGISTER_PASSWORD_HASH("register", "password_hash"),
+        REGISTER_PERSIST_USER("register", "persist_user"),
+        REGISTER_VERIFICATION_TOKEN("register", "verification_token"),
+        REGISTER_AUDIT("register", "audit"),
+        REFRESH_ROTATE("refresh", "rotate"),
+        REFRESH_JWT_SIGN("refresh", "jwt_sign"),
+        FILTER_JWT_PARSE("jwt_filter", "jwt_parse"),
+        FILTER_PRINCIPAL_LOAD("jwt_filter", "principal_load");
+
+        private final String operation;
+        private final String stage;
+
+        Stage(String operation, String stage) {
+            this.operation = operation;
+            this.stage = stage;
+        }
+    }
+
+    private final Map<Stage, Timer> timers = new EnumMap<>(Stage.class);
+
+    public AuthStageTimers(MeterRegistry meterRegistry) {
+        for (Stage stage : Stage.values()) {
+            timers.put(stage, Timer.builder("auth.stage")
+                    .description("Time spent in one stage of an authentication operation")
+                    .tag("operation", stage.operation)
+                    .tag("stage", stage.stage)
+                    .register(meterRegistry));
+        }
+    }
+
+    public <T> T record(Stage stage, Supplier<T> work) {
+        return timers.get(stage).record(work);
+    }
+
+    public void record(Stage stage, Runnable work) {
+        timers.get(stage).record(work);
+    }
+}
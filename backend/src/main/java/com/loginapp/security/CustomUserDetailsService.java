@@ -2,7 +2,9 @@ package com.loginapp.security;
 
 import com.loginapp.entity.User;
 import com.loginapp.repository.UserRepository;
+import com.loginapp.service.LoginAttemptTracker;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -14,6 +16,11 @@ import org.springframework.transaction.annotation.Transactional;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
+    private final LoginAttemptTracker loginAttemptTracker;
+
+    @Value("${app.security.principal-source:DATABASE}")
+    private PrincipalSource principalSource;
 
     @Override
     @Transactional
@@ -21,7 +28,10 @@ public class CustomUserDetailsService implements UserDetailsService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
 
-        return UserPrincipal.create(user);
+        // A locked principal fails the pre-authentication checks before the password is compared
+        UserPrincipal principal = UserPrincipal.create(user);
+        principal.setAccountNonLocked(!loginAttemptTracker.isLocked(username));
+        return principal;
     }
 
     @Transactional
@@ -31,4 +41,23 @@ public class CustomUserDetailsService implements UserDetailsService {
 
         return UserPrincipal.create(user);
     }
+
+    /**
+     * Resolve the principal for an already verified access token according to
+     * the configured principal source.
+     */
+    public UserDetails loadUserByClaims(JwtClaims claims) {
+        return switch (principalSource) {
+            case CLAIMS -> UserPrincipal.fromClaims(claims);
+            case CACHE -> userPrincipalCache.get(claims.getUserId(), this::findPrincipalById);
+            case DATABASE -> findPrincipalById(claims.getUserId());
+        };
+    }
+
+    private UserPrincipal findPrincipalById(Long id) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + id));
+
+        return UserPrincipal.create(user);
+    }
 }
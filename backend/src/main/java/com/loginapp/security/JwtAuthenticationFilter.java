@@ -15,6 +15,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
@@ -23,6 +24,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
     private final CustomUserDetailsService customUserDetailsService;
+    private final AuthStageTimers stageTimers;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
@@ -31,10 +33,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                Long userId = tokenProvider.getUserIdFromToken(jwt);
+            Optional<JwtClaims> claims = StringUtils.hasText(jwt)
+                    ? stageTimers.record(AuthStageTimers.Stage.FILTER_JWT_PARSE, () -> tokenProvider.parseAndValidate(jwt))
+                    : Optional.empty();
 
-                UserDetails userDetails = customUserDetailsService.loadUserById(userId);
+            if (claims.isPresent()) {
+                UserDetails userDetails = stageTimers.record(AuthStageTimers.Stage.FILTER_PRINCIPAL_LOAD,
+                        () -> customUserDetailsService.loadUserByClaims(claims.get()));
                 UsernamePasswordAuthenticationToken authentication = 
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -0,0 +1,27 @@
+package com.loginapp.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Immutable view of the claims carried by a verified access token.
+ */
+@Value
+public class JwtClaims {
+
+    Long userId;
+    String username;
+    String email;
+    Instant expiresAt;
+
+    public static JwtClaims from(Claims claims) {
+        return new JwtClaims(
+                Long.parseLong(claims.getSubject()),
+                claims.get("username", String.class),
+                claims.get("email", String.class),
+                claims.getExpiration().toInstant()
+        );
+    }
+}
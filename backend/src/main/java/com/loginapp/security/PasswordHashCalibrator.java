@@ -0,0 +1,87 @@
+package com.loginapp.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Picks the BCrypt cost for this host at startup: the strongest cost whose
+ * slowest sampled hash still fits the latency budget. Each step doubles the
+ * work, so calibration stops at the first cost over budget.
+ */
+@Component
+@Slf4j
+public class PasswordHashCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibration-Pa55word!";
+
+    @Value("${app.security.password-hashing.strength:0}")
+    private int fixedStrength;
+
+    @Value("${app.security.password-hashing.target-latency:150}") // in milliseconds
+    private long targetLatencyMs;
+
+    @Value("${app.security.password-hashing.min-strength:10}")
+    private int minStrength;
+
+    @Value("${app.security.password-hashing.max-strength:16}")
+    private int maxStrength;
+
+    @Value("${app.security.password-hashing.samples:5}")
+    private int samples;
+
+    private final ReentrantLock calibrationLock = new ReentrantLock();
+    private volatile int strength;
+
+    /**
+     * BCrypt cost to use for new hashes, calibrated on first call. Callers that
+     * arrive during calibration wait on a lock rather than a monitor, which does
+     * not pin virtual threads.
+     */
+    public int getBCryptStrength() {
+        int current = strength;
+        if (current != 0) {
+            return current;
+        }
+        calibrationLock.lock();
+        try {
+            if (strength == 0) {
+                strength = fixedStrength > 0 ? fixedStrength : calibrate();
+            }
+            return strength;
+        } finally {
+            calibrationLock.unlock();
+        }
+    }
+
+    private int calibrate() {
+        long budgetNanos = TimeUnit.MILLISECONDS.toNanos(targetLatencyMs);
+        int chosen = minStrength;
+        for (int cost = minStrength; cost <= maxStrength; cost++) {
+            long slowest = slowestHashNanos(cost);
+            log.debug("BCrypt cost {} took up to {} ms", cost, TimeUnit.NANOSECONDS.toMillis(slowest));
+            if (slowest > budgetNanos) {
+                break;
+            }
+            chosen = cost;
+        }
+        log.info("Calibrated BCrypt cost {} for a {} ms budget", chosen, targetLatencyMs);
+        return chosen;
+    }
+
+    private long slowestHashNanos(int cost) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+        encoder.encode(SAMPLE_PASSWORD); // warm-up
+        long slowest = 0L;
+        for (int i = 0; i < samples; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            slowest = Math.max(slowest, System.nanoTime() - start);
+        }
+        return slowest;
+    }
+}
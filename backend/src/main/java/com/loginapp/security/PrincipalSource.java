@@ -0,0 +1,16 @@
+package com.loginapp.security;
+
+/**
+ * Where JwtAuthenticationFilter gets the UserPrincipal for a verified token.
+ */
+public enum PrincipalSource {
+
+    /** Load the user from the users table on every request. */
+    DATABASE,
+
+    /** Load the user from the users table and keep it in UserPrincipalCache. */
+    CACHE,
+
+    /** Build the principal from the token claims alone, without touching the database. */
+    CLAIMS
+}
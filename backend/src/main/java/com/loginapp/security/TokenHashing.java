@@ -0,0 +1,34 @@
+package com.loginapp.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * SHA-256 digests of opaque tokens, so tokens can be looked up and cached
+ * without keeping the raw value.
+ */
+public final class TokenHashing {
+
+    /** Cloned per call; a thread-local instance would be rebuilt for every virtual thread anyway. */
+    private static final MessageDigest SHA_256;
+
+    static {
+        try {
+            SHA_256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private TokenHashing() {
+    }
+
+    public static byte[] sha256(String token) {
+        try {
+            return ((MessageDigest) SHA_256.clone()).digest(token.getBytes(StandardCharsets.US_ASCII));
+        } catch (CloneNotSupportedException ex) {
+            throw new IllegalStateException("SHA-256 digest cannot be cloned", ex);
+        }
+    }
+}
@@ -19,6 +19,7 @@ public class UserPrincipal implements UserDetails {
     private String email;
     private String password;
     private Collection<? extends GrantedAuthority> authorities;
+    private boolean accountNonLocked;
 
     public static UserPrincipal create(User user) {
         Collection<GrantedAuthority> authorities = Collections.singletonList(
@@ -30,7 +31,27 @@ public class UserPrincipal implements UserDetails {
                 user.getUsername(),
                 user.getEmail(),
                 user.getPassword(),
-                authorities
+                authorities,
+                true
+        );
+    }
+
+    /**
+     * Build a principal from verified token claims only. It carries no password
+     * and reflects the user as of token issue time.
+     */
+    public static UserPrincipal fromClaims(JwtClaims claims) {
+        Collection<GrantedAuthority> authorities = Collections.singletonList(
+                new SimpleGrantedAuthority("ROLE_USER")
+        );
+
+        return new UserPrincipal(
+                claims.getUserId(),
+                claims.getUsername(),
+                claims.getEmail(),
+                null,
+                authorities,
+                true
         );
     }
 
@@ -56,7 +77,7 @@ public class UserPrincipal implements UserDetails {
 
     @Override
     public boolean isAccountNonLocked() {
-        return true;
+        return accountNonLocked;
     }
 
     @Override
@@ -0,0 +1,112 @@
+package com.loginapp.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Bounded, time-limited cache of UserPrincipal by user id, used by the
+ * authentication filter so authenticated requests stop querying the users table.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserPrincipalCache {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    @Value("${app.security.principal-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${app.security.principal-cache.ttl:300000}") // 5 minutes in milliseconds
+    private long ttlMs;
+
+    private final MeterRegistry meterRegistry;
+
+    private Cache<Long, UserPrincipal> cache;
+
+    // Invalidation count per stripe of user ids, bumped before every eviction
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    @PostConstruct
+    public void init() {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "user.principals");
+    }
+
+    /**
+     * Cached principal, loaded on a miss. The loader runs outside the cache's
+     * map lock: it queries the database, and blocking inside that lock would pin
+     * a virtual thread to its carrier. Concurrent misses may load twice.
+     *
+     * <p>An eviction that lands while the loader runs may have removed the entry
+     * before this load is cached, leaving a row read before the writer's commit
+     * cached for the whole TTL. The stripe generation is captured before loading
+     * and checked after caching; if an eviction happened in between, the loaded
+     * principal is returned but not kept.
+     */
+    public UserPrincipal get(Long userId, Function<Long, UserPrincipal> loader) {
+        UserPrincipal principal = cache.getIfPresent(userId);
+        if (principal != null) {
+            return principal;
+        }
+        int stripe = stripe(userId);
+        long generation = generations.get(stripe);
+        principal = loader.apply(userId);
+        UserPrincipal raced = cache.asMap().putIfAbsent(userId, principal);
+        if (raced != null) {
+            return raced;
+        }
+        if (generations.get(stripe) != generation) {
+            cache.asMap().remove(userId, principal);
+        }
+        return principal;
+    }
+
+    /**
+     * Evict a user whose row has changed. When called inside a transaction the
+     * entry is evicted again after commit, so a concurrent request cannot
+     * re-cache the pre-commit row.
+     */
+    public void evict(Long userId) {
+        invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(userId);
+                }
+            });
+        }
+    }
+
+    public void evictAll() {
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+        cache.invalidateAll();
+    }
+
+    private void invalidate(Long userId) {
+        generations.incrementAndGet(stripe(userId));
+        cache.invalidate(userId);
+    }
+
+    private static int stripe(Long userId) {
+        return Long.hashCode(userId) & (GENERATION_STRIPES - 1);
+    }
+}
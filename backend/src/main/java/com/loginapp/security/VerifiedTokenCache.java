@@ -0,0 +1,105 @@
+package com.loginapp.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+
+/**
+ * Bounded cache of access tokens whose signature has already been verified.
+ * Entries are keyed by the SHA-256 digest of the token (the raw token is never
+ * retained) and expire together with the token itself.
+ *
+ * <p>A hit only skips signature verification; user state is resolved
+ * afterwards by the configured principal source exactly as on a miss (DATABASE
+ * and CACHE load the user, CLAIMS trusts the token until it expires either way),
+ * so entries need no invalidation on logout or user changes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VerifiedTokenCache {
+
+    @Value("${jwt.cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${jwt.cache.max-size:10000}")
+    private long maxSize;
+
+    private final MeterRegistry meterRegistry;
+
+    private Cache<ByteBuffer, JwtClaims> cache;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified-tokens");
+        log.info("Verified JWT cache enabled with max size {}", maxSize);
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Return the cached claims for this token, or null on a miss. A hit is
+     * re-checked against the token expiry so it can never outlive the token.
+     */
+    public JwtClaims get(String token) {
+        if (cache == null) {
+            return null;
+        }
+        ByteBuffer key = digest(token);
+        JwtClaims claims = cache.getIfPresent(key);
+        if (claims != null && !claims.getExpiresAt().isAfter(Instant.now())) {
+            cache.invalidate(key);
+            return null;
+        }
+        return claims;
+    }
+
+    public void put(String token, JwtClaims claims) {
+        if (cache != null) {
+            cache.put(digest(token), claims);
+        }
+    }
+
+    private static ByteBuffer digest(String token) {
+        return ByteBuffer.wrap(TokenHashing.sha256(token));
+    }
+
+    private static final class TokenExpiry implements Expiry<ByteBuffer, JwtClaims> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, JwtClaims claims, long currentTime) {
+            long remainingMs = claims.getExpiresAt().toEpochMilli() - System.currentTimeMillis();
+            return Math.max(0L, remainingMs) * 1_000_000L;
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, JwtClaims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, JwtClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.loginapp.service;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Audit log entry captured at call time and queued for the asynchronous writer.
+ */
+@Value
+public class AuditEvent {
+
+    Long userId;
+    String action;
+    String details;
+    String ipAddress;
+    LocalDateTime createdAt;
+}
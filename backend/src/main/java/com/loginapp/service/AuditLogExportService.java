@@ -0,0 +1,134 @@
+package com.loginapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.loginapp.dto.AuditLogResponse;
+import com.loginapp.repository.AuditLogRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams audit log entries straight from a database cursor to the response,
+ * so memory use stays flat however many rows are exported. Rows are read as
+ * DTO projections, which keeps the persistence context empty.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuditLogExportService {
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum ExportFormat {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+    }
+
+    private static final String CSV_HEADER = "id,user_id,action,details,ip_address,created_at\n";
+
+    @Value("${app.audit.retention-months:12}")
+    private int retentionMonths;
+
+    private final AuditLogRepository auditLogRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    private TransactionTemplate readOnlyTransaction;
+    private ObjectWriter jsonWriter;
+
+    @PostConstruct
+    public void init() {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.jsonWriter = objectMapper.writerFor(AuditLogResponse.class);
+    }
+
+    /**
+     * Write the entries created in [from, to) to the stream. A missing bound
+     * defaults to the retention period or to now.
+     */
+    public long export(LocalDateTime from, LocalDateTime to, ExportFormat format, OutputStream out) {
+        LocalDateTime start = from != null ? from : LocalDateTime.now().minusMonths(retentionMonths);
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+
+        Long exported = readOnlyTransaction.execute(status -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            long rows = 0;
+            try (Stream<AuditLogResponse> entries = auditLogRepository.streamBetween(start, end)) {
+                if (format == ExportFormat.CSV) {
+                    writer.write(CSV_HEADER);
+                }
+                Iterator<AuditLogResponse> iterator = entries.iterator();
+                while (iterator.hasNext()) {
+                    AuditLogResponse entry = iterator.next();
+                    if (format == ExportFormat.CSV) {
+                        writeCsv(writer, entry);
+                    } else {
+                        writer.write(jsonWriter.writeValueAsString(entry));
+                        writer.write('\n');
+                    }
+                    rows++;
+                }
+                writer.flush();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return rows;
+        });
+        log.info("Exported {} audit log entries from {} to {} as {}", exported, start, end, format);
+        return exported != null ? exported : 0L;
+    }
+
+    private static void writeCsv(Writer writer, AuditLogResponse entry) throws IOException {
+        writer.write(String.valueOf(entry.getId()));
+        writer.write(',');
+        writer.write(entry.getUserId() != null ? entry.getUserId().toString() : "");
+        writer.write(',');
+        writeCsvField(writer, entry.getAction());
+        writer.write(',');
+        writeCsvField(writer, entry.getDetails());
+        writer.write(',');
+        writeCsvField(writer, entry.getIpAddress());
+        writer.write(',');
+        writer.write(entry.getCreatedAt() != null ? entry.getCreatedAt().toString() : "");
+        writer.write('\n');
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,199 @@
+package com.loginapp.service;
+
+import com.loginapp.repository.AuditLogRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Maintains the monthly partitions of audit_logs on PostgreSQL: creates the
+ * partitions for the coming months ahead of time and drops whole partitions
+ * once they are past the retention period, instead of running DELETEs.
+ * Rows outside every monthly partition land in audit_logs_default instead of
+ * failing; when their month's partition is created they are moved into it.
+ * When audit_logs is not partitioned (H2 in tests, or a database that has not
+ * been migrated yet) retention falls back to chunked deletes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuditLogPartitionManager {
+
+    private static final String LOCK_NAME = "audit-log-partitions";
+    private static final String PARTITION_PREFIX = "audit_logs_";
+    private static final String DEFAULT_PARTITION = "audit_logs_default";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private static final String IS_PARTITIONED_SQL =
+            "SELECT COUNT(*) FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid "
+                    + "WHERE c.relname = 'audit_logs' AND pg_table_is_visible(c.oid)";
+
+    private static final String LIST_PARTITIONS_SQL =
+            "SELECT child.relname FROM pg_inherits i "
+                    + "JOIN pg_class parent ON parent.oid = i.inhparent "
+                    + "JOIN pg_class child ON child.oid = i.inhrelid "
+                    + "WHERE parent.relname = 'audit_logs' AND pg_table_is_visible(parent.oid)";
+
+    @Value("${app.audit.partitioning.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.audit.partitioning.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${app.audit.retention-months:12}")
+    private int retentionMonths;
+
+    @Value("${app.audit.partitioning.fallback-chunk-size:1000}")
+    private int fallbackChunkSize;
+
+    @Value("${app.audit.partitioning.lock-lease:600000}") // milliseconds
+    private long lockLeaseMs;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditLogRepository auditLogRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final LeaderLock leaderLock;
+    private final MeterRegistry meterRegistry;
+
+    private volatile Boolean partitioned;
+
+    @Scheduled(fixedDelayString = "${app.audit.partitioning.interval:86400000}",
+            initialDelayString = "${app.audit.partitioning.initial-delay:30000}")
+    public void maintain() {
+        if (!enabled || !leaderLock.tryAcquire(LOCK_NAME, lockLeaseMs)) {
+            return;
+        }
+        try {
+            YearMonth current = YearMonth.now();
+            YearMonth oldestKept = current.minusMonths(retentionMonths);
+            if (isPartitioned()) {
+                createPartitions(current);
+                dropPartitionsBefore(oldestKept);
+            } else {
+                deleteEntriesBefore(oldestKept.atDay(1).atStartOfDay());
+            }
+        } catch (DataAccessException ex) {
+            log.error("Audit log partition maintenance failed", ex);
+        } finally {
+            leaderLock.release(LOCK_NAME);
+        }
+    }
+
+    private boolean isPartitioned() {
+        if (partitioned == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            partitioned = "PostgreSQL".equalsIgnoreCase(product)
+                    && Integer.valueOf(1).equals(jdbcTemplate.queryForObject(IS_PARTITIONED_SQL, Integer.class));
+            log.info("audit_logs is {}partitioned", partitioned ? "" : "not ");
+        }
+        return partitioned;
+    }
+
+    private void createPartitions(YearMonth current) {
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            String partition = partitionName(month);
+            if (jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition)) {
+                continue;
+            }
+            transactionTemplate.executeWithoutResult(status -> createPartition(partition, month));
+        }
+    }
+
+    /**
+     * Create a month's partition. A default partition cannot hold rows in the
+     * range of a partition being added, so entries that landed there while
+     * maintenance was overdue are moved into the new table before it is attached.
+     */
+    private void createPartition(String partition, YearMonth month) {
+        String from = "'" + month.atDay(1) + "'";
+        String to = "'" + month.plusMonths(1).atDay(1) + "'";
+        if (!jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, DEFAULT_PARTITION)) {
+            jdbcTemplate.execute("CREATE TABLE " + partition
+                    + " PARTITION OF audit_logs FOR VALUES FROM (" + from + ") TO (" + to + ")");
+            return;
+        }
+        jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE audit_logs INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION
+                + " WHERE created_at >= " + from + " AND created_at < " + to + " RETURNING *) "
+                + "INSERT INTO " + partition + " SELECT * FROM moved");
+        jdbcTemplate.execute("ALTER TABLE audit_logs ATTACH PARTITION " + partition
+                + " FOR VALUES FROM (" + from + ") TO (" + to + ")");
+        if (moved > 0) {
+            meterRegistry.counter("audit.partitions.overdue.entries").increment(moved);
+            log.warn("Moved {} audit log entries from {} into {}; partition maintenance was overdue",
+                    moved, DEFAULT_PARTITION, partition);
+        }
+    }
+
+    private void dropPartitionsBefore(YearMonth oldestKept) {
+        List<String> partitions = jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class);
+        for (String partition : partitions) {
+            YearMonth month = parseMonth(partition);
+            if (month != null && month.isBefore(oldestKept)) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                meterRegistry.counter("audit.partitions.dropped").increment();
+                log.info("Dropped audit log partition {} past the {}-month retention", partition, retentionMonths);
+            } else if (DEFAULT_PARTITION.equals(partition)) {
+                jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION + " WHERE created_at < ?",
+                        oldestKept.atDay(1).atStartOfDay());
+            }
+        }
+    }
+
+    private void deleteEntriesBefore(LocalDateTime cutoff) {
+        Pageable firstChunk = PageRequest.of(0, fallbackChunkSize);
+        long deleted = 0;
+        while (true) {
+            Integer chunk = transactionTemplate.execute(status -> {
+                List<Long> ids = auditLogRepository.findIdsCreatedBefore(cutoff, firstChunk);
+                return ids.isEmpty() ? 0 : auditLogRepository.deleteByIdIn(ids);
+            });
+            if (chunk == null || chunk == 0) {
+                break;
+            }
+            deleted += chunk;
+            if (chunk < fallbackChunkSize) {
+                break;
+            }
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} audit log entries older than {}", deleted, cutoff);
+        }
+    }
+
+    private static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+
+    /**
+     * Month of a partition named audit_logs_yyyy_MM, or null for partitions
+     * not managed here.
+     */
+    private static YearMonth parseMonth(String partition) {
+        if (!partition.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+        } catch (DateTimeParseException ex) {
+            return null;
+        }
+    }
+}
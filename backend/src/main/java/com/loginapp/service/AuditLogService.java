@@ -1,22 +1,47 @@
 package com.loginapp.service;
 
+import com.loginapp.dto.AuditLogPage;
+import com.loginapp.dto.AuditLogResponse;
 import com.loginapp.entity.AuditLog;
 import com.loginapp.entity.User;
 import com.loginapp.repository.AuditLogRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class AuditLogService {
 
+    @Value("${app.audit.retention-months:12}")
+    private int retentionMonths;
+
     private final AuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
 
+    /**
+     * Record an audit action. With the asynchronous writer enabled the entry is
+     * queued once the surrounding transaction commits, so rolled-back work is
+     * not audited and the caller never waits on the INSERT.
+     */
     @Transactional
     public void logAction(User user, String action, String details, String ipAddress) {
+        if (auditLogWriter.isEnabled()) {
+            AuditEvent event = new AuditEvent(
+                    user != null ? user.getId() : null, action, details, ipAddress, LocalDateTime.now());
+            submitAfterCommit(event);
+            return;
+        }
+
         AuditLog auditLog = AuditLog.builder()
                 .user(user)
                 .action(action)
@@ -27,11 +52,75 @@ public class AuditLogService {
         auditLogRepository.save(auditLog);
     }
 
-    public List<AuditLog> getUserAuditLogs(User user) {
-        return auditLogRepository.findByUserOrderByCreatedAtDesc(user);
+    /**
+     * A user's entries since the given time, newest first, at most {@code limit}.
+     */
+    public List<AuditLog> getUserAuditLogs(User user, LocalDateTime since, int limit) {
+        return auditLogRepository.findByUserAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(
+                user, since, PageRequest.of(0, limit));
     }
 
+    /**
+     * A user's most recent entries within the retention period.
+     */
     public List<AuditLog> getRecentUserAuditLogs(User user, int limit) {
-        return auditLogRepository.findTop10ByUserOrderByCreatedAtDesc(user);
+        return getUserAuditLogs(user, LocalDateTime.now().minusMonths(retentionMonths), limit);
+    }
+
+    /**
+     * One page of a user's audit trail within the retention period, newest
+     * first. The cursor encodes the (created_at, id) of the last entry of the
+     * previous page, so each page is an index seek regardless of its depth.
+     */
+    @Transactional(readOnly = true)
+    public AuditLogPage getUserAuditLogPage(Long userId, String cursor, int limit) {
+        LocalDateTime since = LocalDateTime.now().minusMonths(retentionMonths);
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<AuditLogResponse> items;
+        if (cursor == null || cursor.isEmpty()) {
+            items = auditLogRepository.findPage(userId, since, page);
+        } else {
+            String[] position = decodeCursor(cursor);
+            items = auditLogRepository.findPageBefore(userId, since,
+                    LocalDateTime.parse(position[0]), Long.parseLong(position[1]), page);
+        }
+
+        if (items.size() <= limit) {
+            return new AuditLogPage(items, null);
+        }
+        List<AuditLogResponse> pageItems = items.subList(0, limit);
+        AuditLogResponse last = pageItems.get(limit - 1);
+        return new AuditLogPage(List.copyOf(pageItems), encodeCursor(last));
+    }
+
+    private static String encodeCursor(AuditLogResponse entry) {
+        String position = entry.getCreatedAt() + "," + entry.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        String[] position;
+        try {
+            position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(",");
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor", ex);
+        }
+        if (position.length != 2) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return position;
+    }
+
+    private void submitAfterCommit(AuditEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            auditLogWriter.submit(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                auditLogWriter.submit(event);
+            }
+        });
     }
 }
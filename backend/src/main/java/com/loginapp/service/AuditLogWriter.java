@@ -0,0 +1,232 @@
+package com.loginapp.service;
+
+import com.loginapp.entity.AuditLog;
+import com.loginapp.repository.AuditLogRepository;
+import com.loginapp.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind pipeline for audit log entries. Entries are buffered in a bounded
+ * queue and a single background thread writes them in one transaction per batch,
+ * flushing when a batch is full or the flush interval has elapsed. Sequence ids
+ * and hibernate.jdbc.batch_size turn each flush into JDBC batch inserts.
+ *
+ * <p>Every write runs in a new transaction. Callers submit from afterCommit
+ * callbacks, where the committed transaction's resources are still bound, and a
+ * joined transaction there would never be flushed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuditLogWriter {
+
+    public enum OverflowPolicy {
+        /** Block the caller until there is room in the queue. */
+        BLOCK,
+        /** Discard the oldest queued entry to make room. */
+        DROP_OLDEST,
+        /** Write the entry synchronously on the caller thread. */
+        CALLER_RUNS
+    }
+
+    @Value("${app.audit.async.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.audit.async.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.audit.async.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.audit.async.flush-interval:1000}") // milliseconds
+    private long flushIntervalMs;
+
+    @Value("${app.audit.async.shutdown-timeout:10000}") // milliseconds
+    private long shutdownTimeoutMs;
+
+    @Value("${app.audit.async.overflow-policy:CALLER_RUNS}")
+    private OverflowPolicy overflowPolicy;
+
+    private final AuditLogRepository auditLogRepository;
+    private final UserRepository userRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    private TransactionTemplate writeTransaction;
+    private BlockingQueue<AuditEvent> queue;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    private Timer flushTimer;
+    private Counter writtenCounter;
+    private Counter droppedCounter;
+    private Counter callerRunsCounter;
+    private Counter failedCounter;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.flushTimer = Timer.builder("audit.flush")
+                .description("Time to write one batch of audit log entries")
+                .register(meterRegistry);
+        this.writtenCounter = meterRegistry.counter("audit.entries", "outcome", "written");
+        this.droppedCounter = meterRegistry.counter("audit.entries", "outcome", "dropped");
+        this.callerRunsCounter = meterRegistry.counter("audit.entries", "outcome", "caller_runs");
+        this.failedCounter = meterRegistry.counter("audit.entries", "outcome", "failed");
+        Gauge.builder("audit.queue.depth", queue, BlockingQueue::size)
+                .description("Audit log entries waiting to be written")
+                .register(meterRegistry);
+
+        this.running = true;
+        this.writerThread = new Thread(this::drainLoop, "audit-log-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+        log.info("Asynchronous audit log writer started (capacity {}, batch size {}, overflow {})",
+                queueCapacity, batchSize, overflowPolicy);
+    }
+
+    public boolean isEnabled() {
+        return running;
+    }
+
+    /**
+     * Queue an entry for writing, applying the overflow policy when the queue is full.
+     * Once the writer has stopped, entries are written on the caller thread.
+     */
+    public void submit(AuditEvent event) {
+        if (!running) {
+            writeSynchronously(event);
+            return;
+        }
+        if (queue.offer(event)) {
+            // The writer may have drained its last batch between the check and the offer
+            if (!running && !writerThread.isAlive() && queue.remove(event)) {
+                writeSynchronously(event);
+            }
+            return;
+        }
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                try {
+                    queue.put(event);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    writeSynchronously(event);
+                }
+            }
+            case DROP_OLDEST -> {
+                while (!queue.offer(event)) {
+                    if (queue.poll() != null) {
+                        droppedCounter.increment();
+                    }
+                }
+            }
+            case CALLER_RUNS -> writeSynchronously(event);
+        }
+    }
+
+    /**
+     * Stop accepting work and write everything still queued before the datasource goes away.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        writerThread.join(shutdownTimeoutMs);
+        if (writerThread.isAlive()) {
+            log.warn("Audit log writer did not drain within {} ms, {} entries lost",
+                    shutdownTimeoutMs, queue.size());
+        }
+    }
+
+    private void drainLoop() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                AuditEvent first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    AuditEvent next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+        log.info("Asynchronous audit log writer stopped");
+    }
+
+    private void writeSynchronously(AuditEvent event) {
+        callerRunsCounter.increment();
+        flush(List.of(event));
+    }
+
+    private void flush(List<AuditEvent> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            writeTransaction.executeWithoutResult(status -> {
+                List<AuditLog> auditLogs = new ArrayList<>(batch.size());
+                for (AuditEvent event : batch) {
+                    auditLogs.add(AuditLog.builder()
+                            .user(event.getUserId() != null ? userRepository.getReferenceById(event.getUserId()) : null)
+                            .action(event.getAction())
+                            .details(event.getDetails())
+                            .ipAddress(event.getIpAddress())
+                            .createdAt(event.getCreatedAt())
+                            .build());
+                }
+                auditLogRepository.saveAll(auditLogs);
+            });
+            writtenCounter.increment(batch.size());
+        } catch (RuntimeException ex) {
+            failedCounter.increment(batch.size());
+            log.error("Failed to write {} audit log entries", batch.size(), ex);
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
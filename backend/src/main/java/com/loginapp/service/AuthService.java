@@ -3,13 +3,20 @@ package com.loginapp.service;
 import com.loginapp.dto.*;
 import com.loginapp.entity.RefreshToken;
 import com.loginapp.entity.User;
+import com.loginapp.exception.PasswordHashingUnavailableException;
 import com.loginapp.exception.TokenRefreshException;
 import com.loginapp.repository.UserRepository;
+import com.loginapp.security.AuthStageTimers;
+import com.loginapp.security.AuthStageTimers.Stage;
 import com.loginapp.security.JwtTokenProvider;
 import com.loginapp.security.UserPrincipal;
+import com.loginapp.security.UserPrincipalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -18,12 +25,16 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Locale;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AuthService {
 
+    private static final String USERNAME_TAKEN = "Error: Username is already taken!";
+    private static final String EMAIL_TAKEN = "Error: Email is already in use!";
+
     private final AuthenticationManager authenticationManager;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
@@ -31,30 +42,55 @@ public class AuthService {
     private final RefreshTokenService refreshTokenService;
     private final AuditLogService auditLogService;
     private final EmailVerificationService emailVerificationService;
+    private final UserPrincipalCache userPrincipalCache;
+    private final LastLoginWriter lastLoginWriter;
+    private final AvailabilityIndex availabilityIndex;
+    private final LoginAttemptTracker loginAttemptTracker;
+    private final AuthStageTimers stageTimers;
 
     @Transactional
     public JwtResponse login(LoginRequest loginRequest, String ipAddress) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        loginRequest.getUsername(),
-                        loginRequest.getPassword()
-                )
-        );
+        // Throttled and locked-out attempts are rejected before any password hashing
+        stageTimers.record(Stage.LOGIN_THROTTLE_CHECK,
+                () -> loginAttemptTracker.checkAllowed(loginRequest.getUsername(), ipAddress));
+
+        Authentication authentication;
+        try {
+            authentication = stageTimers.record(Stage.LOGIN_AUTHENTICATE, () -> authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            loginRequest.getUsername(),
+                            loginRequest.getPassword()
+                    )
+            ));
+        } catch (BadCredentialsException ex) {
+            loginAttemptTracker.recordFailure(loginRequest.getUsername(), ipAddress);
+            throw ex;
+        }
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = tokenProvider.generateToken(authentication);
+        String jwt = stageTimers.record(Stage.LOGIN_JWT_SIGN, () -> tokenProvider.generateToken(authentication));
 
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        RefreshToken refreshToken = refreshTokenService.createRefreshToken(userPrincipal.getId());
+
+        // Authentication joined this transaction, so the user row is already in the
+        // persistence context; a reference reuses it instead of selecting it again.
+        User user = userRepository.getReferenceById(userPrincipal.getId());
+        RefreshToken refreshToken = stageTimers.record(Stage.LOGIN_REFRESH_TOKEN,
+                () -> refreshTokenService.createRefreshToken(user));
 
         // Update last login
-        User user = userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        user.setLastLogin(LocalDateTime.now());
-        userRepository.save(user);
+        stageTimers.record(Stage.LOGIN_LAST_LOGIN, () -> {
+            if (lastLoginWriter.isEnabled()) {
+                lastLoginWriter.record(userPrincipal.getId(), LocalDateTime.now());
+            } else {
+                userRepository.updateLastLogin(userPrincipal.getId(), LocalDateTime.now());
+            }
+        });
+        stageTimers.record(Stage.LOGIN_REHASH, () -> rehashIfOutdated(userPrincipal, loginRequest.getPassword()));
 
         // Log the action
-        auditLogService.logAction(user, "LOGIN", "User logged in successfully", ipAddress);
+        stageTimers.record(Stage.LOGIN_AUDIT,
+                () -> auditLogService.logAction(user, "LOGIN", "User logged in successfully", ipAddress));
 
         return JwtResponse.builder()
                 .accessToken(jwt)
@@ -65,56 +101,101 @@ public class AuthService {
                 .build();
     }
 
-    @Transactional
-    public MessageResponse register(SignupRequest signupRequest, String ipAddress) {
-        if (userRepository.existsByUsername(signupRequest.getUsername())) {
-            throw new RuntimeException("Error: Username is already taken!");
+    /**
+     * Re-encode the password with the current algorithm and cost while the raw
+     * password is at hand. Skipped when the hashing pool is saturated; the next
+     * login tries again.
+     */
+    private void rehashIfOutdated(UserPrincipal userPrincipal, String rawPassword) {
+        if (!passwordEncoder.upgradeEncoding(userPrincipal.getPassword())) {
+            return;
         }
-
-        if (userRepository.existsByEmail(signupRequest.getEmail())) {
-            throw new RuntimeException("Error: Email is already in use!");
+        try {
+            userRepository.updatePassword(userPrincipal.getId(), passwordEncoder.encode(rawPassword), LocalDateTime.now());
+            userPrincipalCache.evict(userPrincipal.getId());
+            log.debug("Re-encoded password hash for user: {}", userPrincipal.getUsername());
+        } catch (PasswordHashingUnavailableException ex) {
+            log.debug("Hashing pool saturated, deferring rehash for user: {}", userPrincipal.getUsername());
         }
+    }
 
+    /**
+     * Create the account. The availability index answers "definitely free" without
+     * a query; names that may be taken are checked so duplicates fail before the
+     * password is hashed. The unique constraints still decide races between
+     * concurrent signups, including those on other replicas.
+     */
+    @Transactional
+    public MessageResponse register(SignupRequest signupRequest, String ipAddress) {
+        stageTimers.record(Stage.REGISTER_AVAILABILITY_CHECK, () -> {
+            if (!availabilityIndex.isUsernameAvailable(signupRequest.getUsername())) {
+                throw new RuntimeException(USERNAME_TAKEN);
+            }
+
+            if (!availabilityIndex.isEmailAvailable(signupRequest.getEmail())) {
+                throw new RuntimeException(EMAIL_TAKEN);
+            }
+        });
+
+        String encodedPassword = stageTimers.record(Stage.REGISTER_PASSWORD_HASH,
+                () -> passwordEncoder.encode(signupRequest.getPassword()));
         User user = User.builder()
                 .username(signupRequest.getUsername())
                 .email(signupRequest.getEmail())
-                .password(passwordEncoder.encode(signupRequest.getPassword()))
+                .password(encodedPassword)
                 .firstName(signupRequest.getFirstName())
                 .lastName(signupRequest.getLastName())
                 .isActive(true)
                 .isVerified(false)
                 .build();
 
-        User savedUser = userRepository.save(user);
+        User savedUser;
+        try {
+            savedUser = stageTimers.record(Stage.REGISTER_PERSIST_USER, () -> userRepository.saveAndFlush(user));
+        } catch (DataIntegrityViolationException ex) {
+            throw new RuntimeException(duplicateMessage(ex));
+        }
+        availabilityIndex.recordRegistration(savedUser.getUsername(), savedUser.getEmail());
 
         // Send email verification
-        emailVerificationService.createVerificationToken(savedUser);
+        stageTimers.record(Stage.REGISTER_VERIFICATION_TOKEN,
+                () -> emailVerificationService.createVerificationToken(savedUser));
 
         // Log the action
-        auditLogService.logAction(savedUser, "REGISTER", "User registered successfully", ipAddress);
+        stageTimers.record(Stage.REGISTER_AUDIT,
+                () -> auditLogService.logAction(savedUser, "REGISTER", "User registered successfully", ipAddress));
 
         log.info("User registered successfully: {}", savedUser.getUsername());
         return new MessageResponse("User registered successfully! Please check your email to verify your account.");
     }
 
-    @Transactional
+    private static String duplicateMessage(DataIntegrityViolationException ex) {
+        String constraint = ex.getCause() instanceof ConstraintViolationException violation
+                ? violation.getConstraintName()
+                : null;
+        if (constraint != null && constraint.toLowerCase(Locale.ROOT).contains(User.EMAIL_CONSTRAINT)) {
+            return EMAIL_TAKEN;
+        }
+        if (constraint != null && constraint.toLowerCase(Locale.ROOT).contains(User.USERNAME_CONSTRAINT)) {
+            return USERNAME_TAKEN;
+        }
+        return "Error: Username or email is already in use!";
+    }
+
+    @Transactional(noRollbackFor = TokenRefreshException.class)
     public JwtResponse refreshToken(RefreshTokenRequest request) {
-        String requestRefreshToken = request.getRefreshToken();
-
-        return refreshTokenService.findByToken(requestRefreshToken)
-                .map(refreshTokenService::verifyExpiration)
-                .map(RefreshToken::getUser)
-                .map(user -> {
-                    String token = tokenProvider.generateTokenFromUsername(user.getUsername());
-                    return JwtResponse.builder()
-                            .accessToken(token)
-                            .refreshToken(requestRefreshToken)
-                            .id(user.getId())
-                            .username(user.getUsername())
-                            .email(user.getEmail())
-                            .build();
-                })
-                .orElseThrow(() -> new TokenRefreshException(requestRefreshToken, "Refresh token is not in database!"));
+        RefreshToken refreshToken = stageTimers.record(Stage.REFRESH_ROTATE,
+                () -> refreshTokenService.rotate(request.getRefreshToken()));
+        User user = refreshToken.getUser();
+        String token = stageTimers.record(Stage.REFRESH_JWT_SIGN, () -> tokenProvider.generateToken(UserPrincipal.create(user)));
+
+        return JwtResponse.builder()
+                .accessToken(token)
+                .refreshToken(refreshToken.getToken())
+                .id(user.getId())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .build();
     }
 
     @Transactional
@@ -0,0 +1,221 @@
+package com.loginapp.service;
+
+import com.loginapp.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * In-memory Bloom filters of taken usernames and emails. A negative answer
+ * means "definitely free" and skips the database; a possible hit falls through
+ * to the indexed query. The filters are built at startup by streaming the users
+ * table and updated after each committed registration. They are rebuilt
+ * periodically to pick up users registered on other replicas and to resize as
+ * the table grows. The unique constraints on users stay the source of truth.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AvailabilityIndex {
+
+    private static final String SCAN_SQL = "SELECT username, email FROM users";
+
+    @Value("${app.availability.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.availability.expected-insertions:1000000}")
+    private long expectedInsertions;
+
+    @Value("${app.availability.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${app.availability.fetch-size:1000}")
+    private int fetchSize;
+
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    private volatile Filters current;
+    private volatile Filters building;
+    private TransactionTemplate readOnlyTransaction;
+
+    private Counter usernamesSkipped;
+    private Counter usernamesQueried;
+    private Counter usernameFalsePositives;
+    private Counter emailsSkipped;
+    private Counter emailsQueried;
+    private Counter emailFalsePositives;
+
+    @PostConstruct
+    public void init() {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        this.usernamesSkipped = meterRegistry.counter("availability.checks", "field", "username", "outcome", "filtered");
+        this.usernamesQueried = meterRegistry.counter("availability.checks", "field", "username", "outcome", "queried");
+        this.usernameFalsePositives = meterRegistry.counter("availability.checks", "field", "username", "outcome", "false_positive");
+        this.emailsSkipped = meterRegistry.counter("availability.checks", "field", "email", "outcome", "filtered");
+        this.emailsQueried = meterRegistry.counter("availability.checks", "field", "email", "outcome", "queried");
+        this.emailFalsePositives = meterRegistry.counter("availability.checks", "field", "email", "outcome", "false_positive");
+        registerGauges("username", filters -> filters.usernames);
+        registerGauges("email", filters -> filters.emails);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * Build fresh filters from the users table and swap them in. Registrations
+     * committed during the scan are added to both the old and the new filters.
+     */
+    @Scheduled(fixedDelayString = "${app.availability.rebuild-interval:3600000}",
+            initialDelayString = "${app.availability.rebuild-interval:3600000}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            long expected = Math.max(expectedInsertions, 2 * userRepository.count());
+            Filters next = new Filters(expected, falsePositiveRate);
+            building = next;
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(SCAN_SQL);
+                statement.setFetchSize(fetchSize);
+                return statement;
+            }, (RowCallbackHandler) rs -> next.add(rs.getString(1), rs.getString(2))));
+            current = next;
+            log.info("Availability index built for {} users in {} ms", next.usernames.approximateSize(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (DataAccessException ex) {
+            log.error("Could not build the availability index, checks will query the database", ex);
+        } finally {
+            building = null;
+        }
+    }
+
+    public boolean isUsernameAvailable(String username) {
+        return isAvailable(username, current != null ? current.usernames : null,
+                userRepository::existsByUsername, usernamesSkipped, usernamesQueried, usernameFalsePositives);
+    }
+
+    public boolean isEmailAvailable(String email) {
+        return isAvailable(email, current != null ? current.emails : null,
+                userRepository::existsByEmail, emailsSkipped, emailsQueried, emailFalsePositives);
+    }
+
+    /**
+     * Record a new user once the registering transaction commits.
+     */
+    public void recordRegistration(String username, String email) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(username, email);
+                }
+            });
+        } else {
+            add(username, email);
+        }
+    }
+
+    /**
+     * Reads building before current. A rebuild publishes current before it
+     * clears building, so if building is already gone, current is the new filter.
+     * Reading them the other way round could see the old current and then no
+     * building, missing the new filter entirely.
+     */
+    private void add(String username, String email) {
+        Filters next = building;
+        Filters filters = current;
+        if (next != null && next != filters) {
+            next.add(username, email);
+        }
+        if (filters != null) {
+            filters.add(username, email);
+        }
+    }
+
+    private boolean isAvailable(String value, BloomFilter filter, Predicate<String> exists,
+                                Counter skipped, Counter queried, Counter falsePositives) {
+        if (filter != null && !filter.mightContain(value)) {
+            skipped.increment();
+            return true;
+        }
+        queried.increment();
+        boolean available = !exists.test(value);
+        if (available && filter != null) {
+            falsePositives.increment();
+        }
+        return available;
+    }
+
+    private void registerGauges(String field, Function<Filters, BloomFilter> filter) {
+        Gauge.builder("availability.filter.false.positive.rate", this,
+                        gaugeOf(filter, BloomFilter::expectedFalsePositiveRate))
+                .description("False-positive probability implied by the bits set in the filter")
+                .tag("field", field)
+                .register(meterRegistry);
+        Gauge.builder("availability.filter.memory", this, gaugeOf(filter, BloomFilter::sizeInBytes))
+                .description("Size of the filter bit array")
+                .tag("field", field)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("availability.filter.entries", this, gaugeOf(filter, BloomFilter::approximateSize))
+                .description("Values added to the filter")
+                .tag("field", field)
+                .register(meterRegistry);
+    }
+
+    private static ToDoubleFunction<AvailabilityIndex> gaugeOf(Function<Filters, BloomFilter> filter,
+                                                               ToDoubleFunction<BloomFilter> metric) {
+        return index -> {
+            Filters filters = index.current;
+            return filters != null ? metric.applyAsDouble(filter.apply(filters)) : Double.NaN;
+        };
+    }
+
+    private static final class Filters {
+
+        private final BloomFilter usernames;
+        private final BloomFilter emails;
+
+        private Filters(long expectedInsertions, double falsePositiveRate) {
+            this.usernames = new BloomFilter(expectedInsertions, falsePositiveRate);
+            this.emails = new BloomFilter(expectedInsertions, falsePositiveRate);
+        }
+
+        private void add(String username, String email) {
+            usernames.put(username);
+            emails.put(email);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.loginapp.service;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-min sketch over a sliding horizon of {@code windows} fixed-length time
+ * windows. Each window has its own counter table; the slot of the oldest window
+ * is cleared and reused when time moves on, so counts decay without per-key
+ * state and memory is fixed however many distinct keys are added. Estimates
+ * never undercount a key except for increments lost while a slot is recycled.
+ * Alongside the counts it keeps, per cell, the time of the latest add, so
+ * {@link #lastSeen} is an upper bound on when a key was last added.
+ */
+public class DecayingCountMinSketch {
+
+    private static final long SEED_1 = 0x9E3779B97F4A7C15L;
+    private static final long SEED_2 = 0xC2B2AE3D27D4EB4FL;
+
+    private final int depth;
+    private final int width;
+    private final long windowMs;
+    private final AtomicIntegerArray[] counts;
+    private final AtomicLongArray windowEpochs;
+    private final AtomicLongArray lastSeen;
+
+    public DecayingCountMinSketch(int depth, int width, int windows, long windowMs) {
+        this.depth = depth;
+        this.width = width;
+        this.windowMs = windowMs;
+        this.counts = new AtomicIntegerArray[windows];
+        for (int i = 0; i < windows; i++) {
+            counts[i] = new AtomicIntegerArray(depth * width);
+        }
+        this.windowEpochs = new AtomicLongArray(windows);
+        this.lastSeen = new AtomicLongArray(depth * width);
+    }
+
+    public void add(String key, long nowMs) {
+        long epoch = nowMs / windowMs;
+        int slot = (int) (epoch % counts.length);
+        long slotEpoch = windowEpochs.get(slot);
+        if (slotEpoch != epoch && windowEpochs.compareAndSet(slot, slotEpoch, epoch)) {
+            AtomicIntegerArray expired = counts[slot];
+            for (int i = 0; i < expired.length(); i++) {
+                expired.set(i, 0);
+            }
+        }
+        long h1 = BloomFilter.hash(key, SEED_1);
+        long h2 = BloomFilter.hash(key, SEED_2) | 1L;
+        AtomicIntegerArray current = counts[slot];
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, current.get(cell(row, h1, h2)));
+        }
+        // Conservative update: only raise cells to the key's new estimate, which
+        // keeps collisions from inflating light keys as the table fills
+        int updated = min + 1;
+        for (int row = 0; row < depth; row++) {
+            int cell = cell(row, h1, h2);
+            current.accumulateAndGet(cell, updated, Math::max);
+            lastSeen.accumulateAndGet(cell, nowMs, Math::max);
+        }
+    }
+
+    /**
+     * Adds of {@code key} within the horizon ending at {@code nowMs}, possibly overcounted.
+     */
+    public int estimate(String key, long nowMs) {
+        long epoch = nowMs / windowMs;
+        return estimateSince(key, epoch - counts.length + 1, epoch);
+    }
+
+    /**
+     * Milliseconds until enough windows have aged out of the horizon for the
+     * estimate of {@code key} to drop below {@code threshold}; at most the full horizon.
+     */
+    public long millisUntilBelow(String key, int threshold, long nowMs) {
+        long epoch = nowMs / windowMs;
+        long oldest = epoch - counts.length + 1;
+        long expiring = oldest;
+        // Window e leaves the horizon at the start of window e + windows
+        while (expiring < epoch && estimateSince(key, expiring + 1, epoch) >= threshold) {
+            expiring++;
+        }
+        return (expiring + counts.length) * windowMs - nowMs;
+    }
+
+    /**
+     * Time of the latest add of {@code key}, or a later add of a colliding key; 0 if none.
+     */
+    public long lastSeen(String key) {
+        long h1 = BloomFilter.hash(key, SEED_1);
+        long h2 = BloomFilter.hash(key, SEED_2) | 1L;
+        long latest = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            latest = Math.min(latest, lastSeen.get(cell(row, h1, h2)));
+        }
+        return latest;
+    }
+
+    public long sizeInBytes() {
+        return (long) counts.length * depth * width * Integer.BYTES + (long) depth * width * Long.BYTES;
+    }
+
+    private int estimateSince(String key, long fromEpoch, long epoch) {
+        long h1 = BloomFilter.hash(key, SEED_1);
+        long h2 = BloomFilter.hash(key, SEED_2) | 1L;
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int cell = cell(row, h1, h2);
+            int sum = 0;
+            for (int slot = 0; slot < counts.length; slot++) {
+                long slotEpoch = windowEpochs.get(slot);
+                if (slotEpoch >= fromEpoch && slotEpoch <= epoch) {
+                    sum += counts[slot].get(cell);
+                }
+            }
+            estimate = Math.min(estimate, sum);
+        }
+        return estimate;
+    }
+
+    private int cell(int row, long h1, long h2) {
+        return row * width + (int) Math.floorMod(h1 + row * h2, (long) width);
+    }
+}
@@ -0,0 +1,222 @@
+package com.loginapp.service;
+
+import com.loginapp.entity.EmailOutbox;
+import com.loginapp.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sends queued emails from the outbox. Each run claims a batch of due
+ * messages by marking them SENDING until now + claim-timeout, sends them over
+ * a single SMTP connection outside any database transaction, then records the
+ * outcome. Claimed rows are skipped by other replicas even if this one loses the
+ * leader lock mid-run; rows whose claim expires unsent (a crash) are due again. Failed messages are retried with
+ * exponential backoff until max-attempts, after which they are marked FAILED.
+ * Without a configured mail server the messages are logged instead.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    private static final String LOCK_NAME = "email-outbox-dispatcher";
+    // SENDING rows are only picked up again once their claim has expired
+    private static final Set<EmailOutbox.Status> DUE_STATUSES =
+            EnumSet.of(EmailOutbox.Status.PENDING, EmailOutbox.Status.SENDING);
+
+    @Value("${app.email.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.email.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.email.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.email.outbox.initial-backoff:10000}") // milliseconds
+    private long initialBackoffMs;
+
+    @Value("${app.email.outbox.max-backoff:3600000}") // milliseconds
+    private long maxBackoffMs;
+
+    @Value("${app.email.outbox.lock-lease:60000}") // milliseconds
+    private long lockLeaseMs;
+
+    @Value("${app.email.outbox.claim-timeout:300000}") // milliseconds
+    private long claimTimeoutMs;
+
+    @Value("${app.email.from:noreply@loginapp.local}")
+    private String fromAddress;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final ObjectProvider<JavaMailSender> mailSenderProvider;
+    private final TransactionTemplate transactionTemplate;
+    private final LeaderLock leaderLock;
+    private final MeterRegistry meterRegistry;
+
+    private Timer dispatchTimer;
+    private Counter sentCounter;
+    private Counter retriedCounter;
+    private Counter failedCounter;
+
+    @PostConstruct
+    public void init() {
+        this.dispatchTimer = Timer.builder("email.outbox.dispatch")
+                .description("Time to send one batch of outbox emails")
+                .register(meterRegistry);
+        this.sentCounter = meterRegistry.counter("email.outbox.messages", "outcome", "sent");
+        this.retriedCounter = meterRegistry.counter("email.outbox.messages", "outcome", "retried");
+        this.failedCounter = meterRegistry.counter("email.outbox.messages", "outcome", "failed");
+        Gauge.builder("email.outbox.pending", emailOutboxRepository,
+                        repository -> repository.countByStatus(EmailOutbox.Status.PENDING))
+                .description("Emails waiting in the outbox")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.outbox.poll-interval:2000}",
+            initialDelayString = "${app.email.outbox.initial-delay:5000}")
+    public void dispatch() {
+        if (!enabled || !leaderLock.tryAcquire(LOCK_NAME, lockLeaseMs)) {
+            return;
+        }
+        // Leave the rest for the next run well before the lease can expire
+        long deadline = System.nanoTime() + lockLeaseMs * 1_000_000L / 2;
+        try {
+            List<EmailOutbox> batch;
+            do {
+                batch = claimBatch();
+                if (!batch.isEmpty()) {
+                    List<EmailOutbox> current = batch;
+                    dispatchTimer.record(() -> sendBatch(current));
+                }
+            } while (batch.size() == batchSize && System.nanoTime() < deadline);
+        } finally {
+            leaderLock.release(LOCK_NAME);
+        }
+    }
+
+    private List<EmailOutbox> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutbox> batch = emailOutboxRepository.findDueForUpdate(
+                    DUE_STATUSES, now, PageRequest.of(0, batchSize));
+            LocalDateTime claimedUntil = now.plusNanos(claimTimeoutMs * 1_000_000L);
+            for (EmailOutbox email : batch) {
+                email.setStatus(EmailOutbox.Status.SENDING);
+                email.setNextAttemptAt(claimedUntil);
+            }
+            return batch;
+        });
+    }
+
+    private void sendBatch(List<EmailOutbox> batch) {
+        Map<EmailOutbox, String> failures = send(batch);
+        LocalDateTime now = LocalDateTime.now();
+        for (EmailOutbox email : batch) {
+            String error = failures.get(email);
+            if (error == null) {
+                email.setStatus(EmailOutbox.Status.SENT);
+                email.setSentAt(now);
+                email.setLastError(null);
+                sentCounter.increment();
+            } else {
+                scheduleRetry(email, error, now);
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> emailOutboxRepository.saveAll(batch));
+    }
+
+    /**
+     * Send the batch and return the messages that failed with their errors.
+     */
+    private Map<EmailOutbox, String> send(List<EmailOutbox> batch) {
+        // Identity maps: outbox entities are mutable and MimeMessage has no equals
+        Map<EmailOutbox, String> failures = new IdentityHashMap<>();
+        JavaMailSender mailSender = mailSenderProvider.getIfAvailable();
+        if (mailSender == null) {
+            batch.forEach(email -> log.info("Email to {} (no mail server configured)\nSubject: {}\n\n{}",
+                    email.getRecipient(), email.getSubject(), email.getBody()));
+            return failures;
+        }
+
+        Map<MimeMessage, EmailOutbox> messages = new IdentityHashMap<>();
+        for (EmailOutbox email : batch) {
+            try {
+                messages.put(toMimeMessage(mailSender, email), email);
+            } catch (MessagingException ex) {
+                failures.put(email, ex.getMessage());
+            }
+        }
+        if (messages.isEmpty()) {
+            return failures;
+        }
+
+        try {
+            // One call sends every message over the same SMTP connection
+            mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException ex) {
+            if (ex.getFailedMessages().isEmpty()) {
+                messages.values().forEach(email -> failures.put(email, ex.getMessage()));
+            } else {
+                ex.getFailedMessages().forEach((message, cause) ->
+                        failures.put(messages.get(message), cause.getMessage()));
+            }
+        } catch (MailException ex) {
+            messages.values().forEach(email -> failures.put(email, ex.getMessage()));
+        }
+        return failures;
+    }
+
+    private MimeMessage toMimeMessage(JavaMailSender mailSender, EmailOutbox email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+        helper.setFrom(fromAddress);
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getBody(), email.isHtml());
+        return message;
+    }
+
+    private void scheduleRetry(EmailOutbox email, String error, LocalDateTime now) {
+        int attempts = email.getAttempts() + 1;
+        email.setAttempts(attempts);
+        email.setLastError(error != null && error.length() > 500 ? error.substring(0, 500) : error);
+        if (attempts >= maxAttempts) {
+            email.setStatus(EmailOutbox.Status.FAILED);
+            failedCounter.increment();
+            log.error("Giving up on email {} to {} after {} attempts: {}",
+                    email.getId(), email.getRecipient(), attempts, error);
+            return;
+        }
+        long backoffMs = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempts - 1, 30));
+        email.setStatus(EmailOutbox.Status.PENDING);
+        email.setNextAttemptAt(now.plusNanos(backoffMs * 1_000_000L));
+        retriedCounter.increment();
+        log.warn("Sending email {} failed (attempt {}), retrying in {} ms: {}",
+                email.getId(), attempts, backoffMs, error);
+    }
+}
@@ -0,0 +1,133 @@
+package com.loginapp.service;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * An email template compiled into a render plan: the literal text between
+ * {@code {{variable}}} placeholders and the variable names in order. Rendering
+ * is a sequence of appends into a pooled buffer with no parsing or formatting.
+ * The source starts with a {@code Subject:} line followed by a blank line and the
+ * body. Values are HTML-escaped in the body of HTML templates.
+ */
+@Getter
+public class EmailTemplate {
+
+    private static final String SUBJECT_PREFIX = "Subject:";
+
+    private final String name;
+    private final Locale locale;
+    private final boolean html;
+    private final Plan subject;
+    private final Plan body;
+
+    private EmailTemplate(String name, Locale locale, boolean html, Plan subject, Plan body) {
+        this.name = name;
+        this.locale = locale;
+        this.html = html;
+        this.subject = subject;
+        this.body = body;
+    }
+
+    public static EmailTemplate compile(String name, Locale locale, boolean html, String source) {
+        String text = source.replace("\r\n", "\n");
+        int endOfSubject = text.indexOf('\n');
+        if (!text.startsWith(SUBJECT_PREFIX) || endOfSubject < 0) {
+            throw new IllegalStateException("Email template " + name + " must start with a 'Subject:' line");
+        }
+        String subjectSource = text.substring(SUBJECT_PREFIX.length(), endOfSubject).trim();
+        String bodySource = text.substring(endOfSubject + 1).stripLeading();
+        return new EmailTemplate(name, locale, html,
+                Plan.compile(name, subjectSource), Plan.compile(name, bodySource));
+    }
+
+    public RenderedEmail render(Map<String, String> model, StringBuilderPool buffers) {
+        StringBuilder buffer = buffers.acquire(body.literalLength + 256);
+        try {
+            subject.render(this, model, buffer, false);
+            String renderedSubject = buffer.toString();
+            buffer.setLength(0);
+            body.render(this, model, buffer, html);
+            return new RenderedEmail(renderedSubject, buffer.toString(), html);
+        } finally {
+            buffers.release(buffer);
+        }
+    }
+
+    private static void appendEscaped(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+
+    /**
+     * Literals and variables interleaved: literals[0], variables[0], literals[1], ...
+     */
+    private static final class Plan {
+
+        private final String[] literals;
+        private final String[] variables;
+        private final int literalLength;
+
+        private Plan(String[] literals, String[] variables) {
+            this.literals = literals;
+            this.variables = variables;
+            int length = 0;
+            for (String literal : literals) {
+                length += literal.length();
+            }
+            this.literalLength = length;
+        }
+
+        static Plan compile(String templateName, String source) {
+            List<String> literals = new ArrayList<>();
+            List<String> variables = new ArrayList<>();
+            int position = 0;
+            int open;
+            while ((open = source.indexOf("{{", position)) >= 0) {
+                int close = source.indexOf("}}", open + 2);
+                if (close < 0) {
+                    throw new IllegalStateException("Unterminated placeholder in email template " + templateName);
+                }
+                String variable = source.substring(open + 2, close).trim();
+                if (variable.isEmpty()) {
+                    throw new IllegalStateException("Empty placeholder in email template " + templateName);
+                }
+                literals.add(source.substring(position, open));
+                variables.add(variable);
+                position = close + 2;
+            }
+            literals.add(source.substring(position));
+            return new Plan(literals.toArray(String[]::new), variables.toArray(String[]::new));
+        }
+
+        void render(EmailTemplate template, Map<String, String> model, StringBuilder out, boolean escape) {
+            out.append(literals[0]);
+            for (int i = 0; i < variables.length; i++) {
+                String value = model.get(variables[i]);
+                if (value == null) {
+                    throw new IllegalArgumentException("Missing variable '" + variables[i]
+                            + "' for email template " + template.name);
+                }
+                if (escape) {
+                    appendEscaped(out, value);
+                } else {
+                    out.append(value);
+                }
+                out.append(literals[i + 1]);
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.loginapp.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compiles every email template under {@code app.email.templates.location} once
+ * at startup and renders them by name and locale. Files are named
+ * {@code <name>[_<locale>].html|txt}, e.g. {@code password-reset_es.html}; a
+ * lookup falls back from the full locale to its language and then to the
+ * template without a locale suffix.
+ */
+@Component
+@Slf4j
+public class EmailTemplateEngine {
+
+    @Value("${app.email.templates.location:classpath*:templates/email/}")
+    private String location;
+
+    @Value("${app.email.templates.buffer-pool-size:0}") // 0 = two per available processor
+    private int bufferPoolSize;
+
+    @Value("${app.email.templates.max-buffer-capacity:65536}") // characters
+    private int maxBufferCapacity;
+
+    private final Map<String, Map<Locale, EmailTemplate>> templates = new HashMap<>();
+    private StringBuilderPool buffers;
+
+    @PostConstruct
+    public void compileTemplates() throws IOException {
+        int poolSize = bufferPoolSize > 0 ? bufferPoolSize : 2 * Runtime.getRuntime().availableProcessors();
+        this.buffers = new StringBuilderPool(poolSize, maxBufferCapacity);
+
+        int compiled = 0;
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources(location + "*.*")) {
+            String filename = resource.getFilename();
+            int dot = filename.lastIndexOf('.');
+            String extension = filename.substring(dot + 1);
+            if (!extension.equals("html") && !extension.equals("txt")) {
+                continue;
+            }
+            String baseName = filename.substring(0, dot);
+            int underscore = baseName.indexOf('_');
+            String name = underscore < 0 ? baseName : baseName.substring(0, underscore);
+            Locale locale = underscore < 0
+                    ? Locale.ROOT
+                    : Locale.forLanguageTag(baseName.substring(underscore + 1).replace('_', '-'));
+            EmailTemplate template = EmailTemplate.compile(name, locale, extension.equals("html"),
+                    resource.getContentAsString(StandardCharsets.UTF_8));
+            templates.computeIfAbsent(name, key -> new HashMap<>()).put(locale, template);
+            compiled++;
+        }
+        log.info("Compiled {} email templates from {}", compiled, location);
+    }
+
+    public RenderedEmail render(String name, Locale locale, Map<String, String> model) {
+        return resolve(name, locale).render(model, buffers);
+    }
+
+    EmailTemplate resolve(String name, Locale locale) {
+        Map<Locale, EmailTemplate> variants = templates.get(name);
+        if (variants == null) {
+            throw new IllegalArgumentException("Unknown email template: " + name);
+        }
+        EmailTemplate template = variants.get(locale);
+        if (template == null) {
+            template = variants.get(Locale.forLanguageTag(locale.getLanguage()));
+        }
+        if (template == null) {
+            template = variants.get(Locale.ROOT);
+        }
+        if (template == null) {
+            throw new IllegalArgumentException("No " + locale + " or default variant of email template " + name);
+        }
+        return template;
+    }
+}
@@ -5,6 +5,7 @@ import com.loginapp.entity.User;
 import com.loginapp.exception.TokenRefreshException;
 import com.loginapp.repository.EmailVerificationTokenRepository;
 import com.loginapp.repository.UserRepository;
+import com.loginapp.security.UserPrincipalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -23,6 +24,7 @@ public class EmailVerificationService {
     private final UserRepository userRepository;
     private final EmailService emailService;
     private final AuditLogService auditLogService;
+    private final UserPrincipalCache userPrincipalCache;
     
     @Value("${app.email-verification.token-expiration:86400000}") // 24 hours in milliseconds
     private Long tokenExpirationMs;
@@ -74,6 +76,7 @@ public class EmailVerificationService {
         // Mark user as verified
         user.setIsVerified(true);
         userRepository.save(user);
+        userPrincipalCache.evict(user.getId());
         
         // Mark token as used
         verificationToken.setUsed(true);
@@ -110,15 +113,6 @@ public class EmailVerificationService {
                 .orElse(false);
     }
     
-    /**
-     * Clean up expired tokens (can be scheduled).
-     */
-    @Transactional
-    public void cleanupExpiredTokens() {
-        emailVerificationTokenRepository.deleteExpiredTokens(Instant.now());
-        log.info("Cleaned up expired email verification tokens");
-    }
-    
     /**
      * Send verification email to user.
      */
@@ -0,0 +1,128 @@
+package com.loginapp.service;
+
+import com.loginapp.entity.EmailOutbox;
+import com.loginapp.repository.EmailOutboxRepository;
+import com.loginapp.repository.EmailVerificationTokenRepository;
+import com.loginapp.repository.PasswordResetTokenRepository;
+import com.loginapp.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Deletes expired refresh, password-reset and email-verification tokens, and
+ * finished outbox emails past their retention. Rows are removed in bounded
+ * chunks, each in its own short transaction with a pause in between, so the
+ * purge never holds locks for long. Only the replica holding the leader lock
+ * runs it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExpiredTokenPurger {
+
+    private static final String LOCK_NAME = "expired-token-purge";
+    private static final Set<EmailOutbox.Status> FINISHED_EMAILS =
+            EnumSet.of(EmailOutbox.Status.SENT, EmailOutbox.Status.FAILED);
+
+    @Value("${app.token-purge.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.token-purge.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.token-purge.chunk-pause:100}") // milliseconds
+    private long chunkPauseMs;
+
+    @Value("${app.token-purge.lock-lease:600000}") // milliseconds
+    private long lockLeaseMs;
+
+    @Value("${app.email.outbox.retention:604800000}") // 7 days in milliseconds
+    private long outboxRetentionMs;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final PasswordResetTokenRepository passwordResetTokenRepository;
+    private final EmailVerificationTokenRepository emailVerificationTokenRepository;
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final LeaderLock leaderLock;
+    private final MeterRegistry meterRegistry;
+
+    @Scheduled(fixedDelayString = "${app.token-purge.interval:3600000}",
+            initialDelayString = "${app.token-purge.initial-delay:60000}")
+    public void purge() {
+        if (!enabled || !leaderLock.tryAcquire(LOCK_NAME, lockLeaseMs)) {
+            return;
+        }
+        try {
+            LocalDateTime nowLocal = LocalDateTime.now();
+            Instant now = Instant.now();
+            purgeTable("refresh_tokens",
+                    page -> refreshTokenRepository.findExpiredIds(nowLocal, page),
+                    refreshTokenRepository::deleteByIdIn);
+            purgeTable("password_reset_tokens",
+                    page -> passwordResetTokenRepository.findExpiredIds(now, page),
+                    passwordResetTokenRepository::deleteByIdIn);
+            purgeTable("email_verification_tokens",
+                    page -> emailVerificationTokenRepository.findExpiredIds(now, page),
+                    emailVerificationTokenRepository::deleteByIdIn);
+            LocalDateTime outboxCutoff = nowLocal.minusNanos(outboxRetentionMs * 1_000_000L);
+            purgeTable("email_outbox",
+                    page -> emailOutboxRepository.findIdsByStatusCreatedBefore(FINISHED_EMAILS, outboxCutoff, page),
+                    emailOutboxRepository::deleteByIdIn);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            leaderLock.release(LOCK_NAME);
+        }
+    }
+
+    private void purgeTable(String table, Function<Pageable, List<Long>> findExpiredIds,
+                            ToIntFunction<List<Long>> deleteByIds) throws InterruptedException {
+        Counter purgedCounter = meterRegistry.counter("token.purge.rows", "table", table);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Pageable firstChunk = PageRequest.of(0, chunkSize);
+        long purged = 0;
+        try {
+            while (true) {
+                Integer deleted = transactionTemplate.execute(status -> {
+                    List<Long> ids = findExpiredIds.apply(firstChunk);
+                    return ids.isEmpty() ? 0 : deleteByIds.applyAsInt(ids);
+                });
+                if (deleted == null || deleted == 0) {
+                    break;
+                }
+                purged += deleted;
+                purgedCounter.increment(deleted);
+                if (deleted < chunkSize) {
+                    break;
+                }
+                Thread.sleep(chunkPauseMs);
+            }
+        } catch (DataAccessException ex) {
+            log.error("Purging expired rows from {} failed after {} rows", table, purged, ex);
+        } finally {
+            sample.stop(meterRegistry.timer("token.purge", "table", table));
+        }
+        if (purged > 0) {
+            log.info("Purged {} expired rows from {}", purged, table);
+        }
+    }
+}
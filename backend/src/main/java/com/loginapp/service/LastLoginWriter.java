@@ -0,0 +1,126 @@
+package com.loginapp.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind recorder for users.last_login. Logins only update an in-memory
+ * map; a scheduled flush writes the latest timestamp per user as one JDBC
+ * batch, so repeated logins by the same user collapse into a single UPDATE.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LastLoginWriter {
+
+    private static final String UPDATE_SQL =
+            "UPDATE users SET last_login = ?, updated_at = ? WHERE id = ? AND (last_login IS NULL OR last_login < ?)";
+
+    @Value("${app.last-login.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.last-login.write-behind.batch-size:500}")
+    private int batchSize;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private Timer flushTimer;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        this.flushTimer = Timer.builder("last.login.flush")
+                .description("Time to write one batch of last-login timestamps")
+                .register(meterRegistry);
+        Gauge.builder("last.login.pending", pending, Map::size)
+                .description("Users whose last-login timestamp has not been written yet")
+                .register(meterRegistry);
+        log.info("Write-behind last-login recording enabled (batch size {})", batchSize);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Record a login. Inside a transaction the timestamp is only recorded once
+     * it commits, so a rolled-back login leaves no trace.
+     */
+    public void record(Long userId, LocalDateTime loginTime) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            pending.merge(userId, loginTime, LastLoginWriter::latest);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pending.merge(userId, loginTime, LastLoginWriter::latest);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.last-login.write-behind.flush-interval:60000}")
+    public void flush() {
+        if (!enabled || pending.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Long, LocalDateTime>> batch = new ArrayList<>(pending.size());
+        for (Map.Entry<Long, LocalDateTime> entry : pending.entrySet()) {
+            Long userId = entry.getKey();
+            LocalDateTime loginTime = entry.getValue();
+            // Only take the entry if no newer login replaced it in the meantime
+            if (pending.remove(userId, loginTime)) {
+                batch.add(Map.entry(userId, loginTime));
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            flushTimer.record(() -> jdbcTemplate.batchUpdate(UPDATE_SQL, batch, batchSize, (ps, entry) -> {
+                Timestamp loginTime = Timestamp.valueOf(entry.getValue());
+                ps.setTimestamp(1, loginTime);
+                ps.setTimestamp(2, loginTime);
+                ps.setLong(3, entry.getKey());
+                ps.setTimestamp(4, loginTime);
+            }));
+            log.debug("Flushed last-login timestamps for {} users", batch.size());
+        } catch (DataAccessException ex) {
+            batch.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), LastLoginWriter::latest));
+            log.error("Failed to flush last-login timestamps for {} users, will retry", batch.size(), ex);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        flush();
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
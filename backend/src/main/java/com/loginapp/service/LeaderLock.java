@@ -0,0 +1,88 @@
+package com.loginapp.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.UUID;
+
+/**
+ * Lease-based lock in the shared database, so that scheduled maintenance runs
+ * on one replica at a time. A lease expires on its own if its holder dies.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LeaderLock {
+
+    static final String CREATE_TABLE_SQL = "CREATE TABLE IF NOT EXISTS scheduler_locks ("
+            + "lock_name VARCHAR(64) PRIMARY KEY, "
+            + "locked_until BIGINT NOT NULL, "
+            + "locked_by VARCHAR(255) NOT NULL)";
+
+    private static final String ACQUIRE_SQL =
+            "UPDATE scheduler_locks SET locked_until = ?, locked_by = ? WHERE lock_name = ? AND locked_until <= ?";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO scheduler_locks (lock_name, locked_until, locked_by) VALUES (?, ?, ?)";
+
+    private static final String RELEASE_SQL =
+            "UPDATE scheduler_locks SET locked_until = ? WHERE lock_name = ? AND locked_by = ?";
+
+    @Value("${app.scheduler-lock.create-table:true}")
+    private boolean createTable;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private String instanceId;
+
+    @PostConstruct
+    public void init() {
+        if (createTable) {
+            jdbcTemplate.execute(CREATE_TABLE_SQL);
+        }
+        this.instanceId = hostName() + ":" + UUID.randomUUID();
+    }
+
+    /**
+     * Try to take the named lock for the given lease. Returns false straight
+     * away when another instance holds an unexpired lease.
+     */
+    public boolean tryAcquire(String name, long leaseMs) {
+        long now = System.currentTimeMillis();
+        try {
+            if (jdbcTemplate.update(ACQUIRE_SQL, now + leaseMs, instanceId, name, now) == 1) {
+                return true;
+            }
+            return jdbcTemplate.update(INSERT_SQL, name, now + leaseMs, instanceId) == 1;
+        } catch (DuplicateKeyException ex) {
+            return false;
+        } catch (DataAccessException ex) {
+            log.warn("Could not acquire lock {}", name, ex);
+            return false;
+        }
+    }
+
+    public void release(String name) {
+        try {
+            jdbcTemplate.update(RELEASE_SQL, System.currentTimeMillis(), name, instanceId);
+        } catch (DataAccessException ex) {
+            log.warn("Could not release lock {}, it expires with its lease", name, ex);
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException ex) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.loginapp.service;
+
+import com.loginapp.exception.LoginThrottledException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks failed logins per username and per client IP in two fixed-size,
+ * time-decayed count-min sketches, so memory stays bounded however many
+ * usernames an attacker tries. Past {@code delay-after} failures a key must wait
+ * an exponentially growing delay after its last failure before the next attempt;
+ * past {@code lockout-after} it is locked until old failures age out of the
+ * horizon. Both are checked before authentication, so blocked attempts never
+ * reach the password encoder.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LoginAttemptTracker {
+
+    @Value("${app.security.login-attempts.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.security.login-attempts.username.delay-after:3}")
+    private int usernameDelayAfter;
+
+    @Value("${app.security.login-attempts.username.lockout-after:10}")
+    private int usernameLockoutAfter;
+
+    @Value("${app.security.login-attempts.ip.delay-after:20}")
+    private int ipDelayAfter;
+
+    @Value("${app.security.login-attempts.ip.lockout-after:100}")
+    private int ipLockoutAfter;
+
+    @Value("${app.security.login-attempts.base-delay:1000}") // milliseconds
+    private long baseDelayMs;
+
+    @Value("${app.security.login-attempts.max-delay:60000}") // milliseconds
+    private long maxDelayMs;
+
+    @Value("${app.security.login-attempts.window:300000}") // milliseconds
+    private long windowMs;
+
+    @Value("${app.security.login-attempts.windows:3}")
+    private int windows;
+
+    @Value("${app.security.login-attempts.sketch-width:65536}")
+    private int sketchWidth;
+
+    @Value("${app.security.login-attempts.sketch-depth:4}")
+    private int sketchDepth;
+
+    private final MeterRegistry meterRegistry;
+
+    private DecayingCountMinSketch usernameFailures;
+    private DecayingCountMinSketch ipFailures;
+    private Counter failuresCounter;
+    private Counter delayedCounter;
+    private Counter lockedCounter;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        this.usernameFailures = new DecayingCountMinSketch(sketchDepth, sketchWidth, windows, windowMs);
+        this.ipFailures = new DecayingCountMinSketch(sketchDepth, sketchWidth, windows, windowMs);
+        this.failuresCounter = meterRegistry.counter("login.failures");
+        this.delayedCounter = meterRegistry.counter("login.attempts.blocked", "reason", "delay");
+        this.lockedCounter = meterRegistry.counter("login.attempts.blocked", "reason", "lockout");
+        Gauge.builder("login.failures.sketch.memory", this,
+                        tracker -> tracker.usernameFailures.sizeInBytes() + tracker.ipFailures.sizeInBytes())
+                .description("Memory held by the failed-login sketches")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        log.info("Failed-login tracking over {} x {} ms windows ({} KB)", windows, windowMs,
+                (usernameFailures.sizeInBytes() + ipFailures.sizeInBytes()) / 1024);
+    }
+
+    /**
+     * Reject the attempt with {@link LoginThrottledException} if the username or
+     * the client IP is still serving a delay or is locked out.
+     */
+    public void checkAllowed(String username, String ipAddress) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        check(usernameFailures, normalize(username), usernameDelayAfter, usernameLockoutAfter, now);
+        if (ipAddress != null) {
+            check(ipFailures, ipAddress, ipDelayAfter, ipLockoutAfter, now);
+        }
+    }
+
+    /**
+     * Whether the username has reached the lockout threshold.
+     */
+    public boolean isLocked(String username) {
+        return enabled && usernameFailures.estimate(normalize(username), System.currentTimeMillis())
+                >= usernameLockoutAfter;
+    }
+
+    public void recordFailure(String username, String ipAddress) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        usernameFailures.add(normalize(username), now);
+        if (ipAddress != null) {
+            ipFailures.add(ipAddress, now);
+        }
+        failuresCounter.increment();
+    }
+
+    private void check(DecayingCountMinSketch sketch, String key, int delayAfter, int lockoutAfter, long now) {
+        int failures = sketch.estimate(key, now);
+        if (failures >= lockoutAfter) {
+            lockedCounter.increment();
+            throw new LoginThrottledException(toSeconds(sketch.millisUntilBelow(key, lockoutAfter, now)));
+        }
+        if (failures >= delayAfter) {
+            long delay = Math.min(maxDelayMs, baseDelayMs << Math.min(failures - delayAfter, 20));
+            long wait = sketch.lastSeen(key) + delay - now;
+            if (wait > 0) {
+                delayedCounter.increment();
+                throw new LoginThrottledException(toSeconds(wait));
+            }
+        }
+    }
+
+    private static String normalize(String username) {
+        return username == null ? "" : username.toLowerCase(Locale.ROOT);
+    }
+
+    private static long toSeconds(long millis) {
+        return Math.max(1L, TimeUnit.MILLISECONDS.toSeconds(millis + 999));
+    }
+}
@@ -5,6 +5,7 @@ import com.loginapp.entity.User;
 import com.loginapp.exception.TokenRefreshException;
 import com.loginapp.repository.PasswordResetTokenRepository;
 import com.loginapp.repository.UserRepository;
+import com.loginapp.security.UserPrincipalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -25,6 +26,7 @@ public class PasswordResetService {
     private final EmailService emailService;
     private final PasswordEncoder passwordEncoder;
     private final AuditLogService auditLogService;
+    private final UserPrincipalCache userPrincipalCache;
     
     @Value("${app.password-reset.token-expiration:3600000}") // 1 hour in milliseconds
     private Long tokenExpirationMs;
@@ -79,6 +81,7 @@ public class PasswordResetService {
         // Update password
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        userPrincipalCache.evict(user.getId());
         
         // Mark token as used
         resetToken.setUsed(true);
@@ -99,13 +102,4 @@ public class PasswordResetService {
                 .map(t -> !t.isUsed() && !t.isExpired())
                 .orElse(false);
     }
-    
-    /**
-     * Clean up expired tokens (can be scheduled).
-     */
-    @Transactional
-    public void cleanupExpiredTokens() {
-        passwordResetTokenRepository.deleteExpiredTokens(Instant.now());
-        log.info("Cleaned up expired password reset tokens");
-    }
 }
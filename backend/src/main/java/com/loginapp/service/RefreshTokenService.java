@@ -5,48 +5,72 @@ import com.loginapp.entity.User;
 import com.loginapp.exception.TokenRefreshException;
 import com.loginapp.repository.RefreshTokenRepository;
 import com.loginapp.repository.UserRepository;
+import com.loginapp.security.TokenHashing;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.security.SecureRandom;
 import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.Base64;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class RefreshTokenService {
 
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
     @Value("${jwt.refresh-expiration}")
     private Long refreshTokenDurationMs;
 
     private final RefreshTokenRepository refreshTokenRepository;
     private final UserRepository userRepository;
 
-    public Optional<RefreshToken> findByToken(String token) {
-        return refreshTokenRepository.findByToken(token);
-    }
-
     public RefreshToken createRefreshToken(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        RefreshToken refreshToken = RefreshToken.builder()
-                .user(user)
-                .token(UUID.randomUUID().toString())
-                .expiryDate(LocalDateTime.now().plusSeconds(refreshTokenDurationMs / 1000))
-                .build();
+        return createRefreshToken(user);
+    }
 
-        return refreshTokenRepository.save(refreshToken);
+    /**
+     * Create a refresh token for a user the caller has already loaded (or holds a
+     * reference to), without querying the users table again. Each login starts
+     * a new token family.
+     */
+    public RefreshToken createRefreshToken(User user) {
+        return issue(user, UUID.randomUUID());
     }
 
-    public RefreshToken verifyExpiration(RefreshToken token) {
-        if (token.isExpired()) {
-            refreshTokenRepository.delete(token);
-            throw new TokenRefreshException(token.getToken(), "Refresh token was expired. Please make a new signin request");
+    /**
+     * Exchange a refresh token for its successor in the same family. The token
+     * and its user are read with one indexed lookup; the old token is revoked
+     * with a conditional update, so of two concurrent exchanges only one wins.
+     * Presenting a token that was already exchanged, or losing that race,
+     * revokes the whole family.
+     */
+    @Transactional(noRollbackFor = TokenRefreshException.class)
+    public RefreshToken rotate(String token) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(TokenHashing.sha256(token))
+                .orElseThrow(() -> new TokenRefreshException(token, "Refresh token is not in database!"));
+
+        if (current.isRevoked()) {
+            throw reuseDetected(current, token);
+        }
+        if (current.isExpired()) {
+            refreshTokenRepository.delete(current);
+            throw new TokenRefreshException(token, "Refresh token was expired. Please make a new signin request");
+        }
+        if (refreshTokenRepository.revokeIfActive(current.getId()) == 0) {
+            throw reuseDetected(current, token);
         }
-        return token;
+
+        return issue(current.getUser(), current.getFamilyId());
     }
 
     @Transactional
@@ -58,6 +82,29 @@ public class RefreshTokenService {
 
     @Transactional
     public int deleteByToken(String token) {
-        return refreshTokenRepository.deleteByToken(token);
+        return refreshTokenRepository.deleteByTokenHash(TokenHashing.sha256(token));
+    }
+
+    private TokenRefreshException reuseDetected(RefreshToken current, String token) {
+        int revoked = refreshTokenRepository.revokeFamily(current.getFamilyId());
+        log.warn("Refresh token reuse detected for user {}, revoked {} tokens of family {}",
+                current.getUser().getId(), revoked, current.getFamilyId());
+        return new TokenRefreshException(token, "Refresh token was already used. Please make a new signin request");
+    }
+
+    private RefreshToken issue(User user, UUID familyId) {
+        byte[] random = new byte[32];
+        RANDOM.nextBytes(random);
+        String token = ENCODER.encodeToString(random);
+
+        RefreshToken refreshToken = RefreshToken.builder()
+                .user(user)
+                .token(token)
+                .tokenHash(TokenHashing.sha256(token))
+                .familyId(familyId)
+                .expiryDate(LocalDateTime.now().plusSeconds(refreshTokenDurationMs / 1000))
+                .build();
+
+        return refreshTokenRepository.save(refreshToken);
     }
 }
@@ -0,0 +1,14 @@
+package com.loginapp.service;
+
+import lombok.Value;
+
+/**
+ * Subject and body produced by an {@link EmailTemplate}.
+ */
+@Value
+public class RenderedEmail {
+
+    String subject;
+    String body;
+    boolean html;
+}
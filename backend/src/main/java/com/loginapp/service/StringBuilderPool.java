@@ -0,0 +1,38 @@
+package com.loginapp.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Bounded pool of reusable {@link StringBuilder}s. Buffers are handed out per
+ * render rather than per thread, so the pool stays small however many threads
+ * send mail; buffers that grew past {@code maxRetainedCapacity} are discarded
+ * instead of being kept around.
+ */
+public class StringBuilderPool {
+
+    private final BlockingQueue<StringBuilder> buffers;
+    private final int maxRetainedCapacity;
+
+    public StringBuilderPool(int size, int maxRetainedCapacity) {
+        this.buffers = new ArrayBlockingQueue<>(size);
+        this.maxRetainedCapacity = maxRetainedCapacity;
+    }
+
+    public StringBuilder acquire(int capacityHint) {
+        StringBuilder buffer = buffers.poll();
+        if (buffer == null) {
+            return new StringBuilder(capacityHint);
+        }
+        buffer.ensureCapacity(capacityHint);
+        return buffer;
+    }
+
+    public void release(StringBuilder buffer) {
+        if (buffer.capacity() > maxRetainedCapacity) {
+            return;
+        }
+        buffer.setLength(0);
+        buffers.offer(buffer);
+    }
+}
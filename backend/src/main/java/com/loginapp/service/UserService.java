@@ -3,6 +3,7 @@ package com.loginapp.service;
 import com.loginapp.dto.UserResponse;
 import com.loginapp.entity.User;
 import com.loginapp.repository.UserRepository;
+import com.loginapp.security.UserPrincipalCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -12,6 +13,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
 
     @Transactional(readOnly = true)
     public UserResponse getUserProfile(Long userId) {
@@ -34,6 +36,7 @@ public class UserService {
         }
 
         User updatedUser = userRepository.save(user);
+        userPrincipalCache.evict(userId);
         return UserResponse.fromUser(updatedUser);
     }
 }
@@ -0,0 +1,132 @@
+package com.loginapp.benchmark;
+
+import jakarta.persistence.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserting N audit rows through Hibernate with IDENTITY ids (one round-trip per
+ * row, no JDBC batching) versus SEQUENCE ids with the pooled-lo optimizer and
+ * hibernate.jdbc.batch_size. Runs against in-memory H2, so it understates the
+ * round-trip savings seen against a networked Postgres.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuditInsertBenchmark {
+
+    private static final int BATCH_SIZE = 50;
+
+    @Param({"IDENTITY", "SEQUENCE"})
+    private String strategy;
+
+    @Param({"100", "1000"})
+    private int rows;
+
+    private SessionFactory sessionFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(IdentityAuditRow.class)
+                .addAnnotatedClass(SequenceAuditRow.class)
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:audit-bench;DB_CLOSE_DELAY=-1")
+                .setProperty("hibernate.connection.username", "sa")
+                .setProperty("hibernate.connection.password", "")
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .setProperty("hibernate.jdbc.batch_size", String.valueOf(BATCH_SIZE))
+                .setProperty("hibernate.order_inserts", "true")
+                .setProperty("hibernate.id.optimizer.pooled.preferred", "pooled-lo")
+                .buildSessionFactory();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public void insertRows() {
+        boolean identity = "IDENTITY".equals(strategy);
+        sessionFactory.inTransaction(session -> {
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < rows; i++) {
+                if (identity) {
+                    session.persist(new IdentityAuditRow("LOGIN", "User logged in successfully", "127.0.0.1", now));
+                } else {
+                    session.persist(new SequenceAuditRow("LOGIN", "User logged in successfully", "127.0.0.1", now));
+                }
+                if (i % BATCH_SIZE == BATCH_SIZE - 1) {
+                    session.flush();
+                    session.clear();
+                }
+            }
+        });
+    }
+
+    @MappedSuperclass
+    public abstract static class AuditRow {
+
+        @Column(nullable = false, length = 100)
+        private String action;
+
+        @Column(columnDefinition = "TEXT")
+        private String details;
+
+        @Column(name = "ip_address", length = 45)
+        private String ipAddress;
+
+        @Column(name = "created_at")
+        private LocalDateTime createdAt;
+
+        protected AuditRow() {
+        }
+
+        protected AuditRow(String action, String details, String ipAddress, LocalDateTime createdAt) {
+            this.action = action;
+            this.details = details;
+            this.ipAddress = ipAddress;
+            this.createdAt = createdAt;
+        }
+    }
+
+    @Entity(name = "IdentityAuditRow")
+    @Table(name = "audit_logs_identity")
+    public static class IdentityAuditRow extends AuditRow {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+
+        protected IdentityAuditRow() {
+        }
+
+        public IdentityAuditRow(String action, String details, String ipAddress, LocalDateTime createdAt) {
+            super(action, details, ipAddress, createdAt);
+        }
+    }
+
+    @Entity(name = "SequenceAuditRow")
+    @Table(name = "audit_logs_sequence")
+    public static class SequenceAuditRow extends AuditRow {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_logs_sequence_seq")
+        @SequenceGenerator(name = "audit_logs_sequence_seq", sequenceName = "audit_logs_sequence_seq", allocationSize = BATCH_SIZE)
+        private Long id;
+
+        protected SequenceAuditRow() {
+        }
+
+        public SequenceAuditRow(String action, String details, String ipAddress, LocalDateTime createdAt) {
+            super(action, details, ipAddress, createdAt);
+        }
+    }
+}
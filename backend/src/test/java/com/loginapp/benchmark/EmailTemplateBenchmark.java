@@ -0,0 +1,85 @@
+package com.loginapp.benchmark;
+
+import com.loginapp.service.EmailTemplateEngine;
+import com.loginapp.service.RenderedEmail;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rendering the password reset email. {@code legacyStringFormat} reproduces the old
+ * path (String.format over the whole HTML text on every send); {@code compiledTemplate}
+ * appends the precompiled plan into a pooled buffer, and {@code compiledTemplateLocalized}
+ * adds the locale fallback lookup. Run with {@code -t 8} to see the pool under contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{(\\w+)}}");
+    private static final Locale SPANISH_MEXICO = Locale.forLanguageTag("es-MX");
+
+    private EmailTemplateEngine engine;
+    private Map<String, String> model;
+    private String legacyFormat;
+    private List<String> legacyArguments;
+
+    @Setup
+    public void setUp() throws IOException {
+        engine = new EmailTemplateEngine();
+        ReflectionTestUtils.setField(engine, "location", "classpath*:templates/email/");
+        ReflectionTestUtils.setField(engine, "maxBufferCapacity", 65536);
+        engine.compileTemplates();
+
+        model = Map.of(
+                "appName", "Login Application",
+                "link", "http://localhost:4200/reset-password?token=3f1c9a7e-8b2d-4c5e-9f60-1a2b3c4d5e6f");
+
+        String source = new ClassPathResource("templates/email/password-reset.html")
+                .getContentAsString(StandardCharsets.UTF_8);
+        String body = source.substring(source.indexOf('\n') + 1).stripLeading();
+        legacyArguments = new ArrayList<>();
+        Matcher matcher = PLACEHOLDER.matcher(body.replace("%", "%%"));
+        StringBuilder format = new StringBuilder();
+        while (matcher.find()) {
+            legacyArguments.add(matcher.group(1));
+            matcher.appendReplacement(format, "%s");
+        }
+        matcher.appendTail(format);
+        legacyFormat = format.toString();
+    }
+
+    @Benchmark
+    public String legacyStringFormat() {
+        Object[] arguments = new Object[legacyArguments.size()];
+        for (int i = 0; i < arguments.length; i++) {
+            arguments[i] = model.get(legacyArguments.get(i));
+        }
+        String subject = "Password Reset Request - " + model.get("appName");
+        return subject + String.format(legacyFormat, arguments);
+    }
+
+    @Benchmark
+    public RenderedEmail compiledTemplate() {
+        return engine.render("password-reset", Locale.ROOT, model);
+    }
+
+    @Benchmark
+    public RenderedEmail compiledTemplateLocalized() {
+        return engine.render("password-reset", SPANISH_MEXICO, model);
+    }
+}
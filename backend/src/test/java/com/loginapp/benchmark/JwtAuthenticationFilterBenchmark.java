@@ -0,0 +1,100 @@
+package com.loginapp.benchmark;
+
+import com.loginapp.entity.User;
+import com.loginapp.repository.UserRepository;
+import com.loginapp.security.AuthStageTimers;
+import com.loginapp.security.CustomUserDetailsService;
+import com.loginapp.security.JwtAuthenticationFilter;
+import com.loginapp.security.JwtTokenProvider;
+import com.loginapp.security.PrincipalSource;
+import com.loginapp.security.UserPrincipal;
+import com.loginapp.security.UserPrincipalCache;
+import com.loginapp.security.VerifiedTokenCache;
+import com.loginapp.service.LoginAttemptTracker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * JwtAuthenticationFilter end to end for a request with a valid bearer token:
+ * header extraction, token verification, principal resolution and security
+ * context population. The user repository is a Mockito mock, so the DATABASE
+ * source measures the lookup plumbing rather than a real query.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-for-jmh-runs-must-be-long-enough-256-bits";
+
+    @Param({"DATABASE", "CACHE", "CLAIMS"})
+    private PrincipalSource principalSource;
+
+    @Param({"false", "true"})
+    private boolean tokenCache;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private final FilterChain chain = (req, res) -> { };
+
+    @Setup
+    public void setUp() {
+        User user = User.builder()
+                .id(42L)
+                .username("benchmark")
+                .email("benchmark@example.com")
+                .password("$2a$10$abcdefghijklmnopqrstuu5ZmYQ1Xx0jOZ0cE1yqJY2h3B3eJ4N6")
+                .isActive(true)
+                .isVerified(true)
+                .build();
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findById(42L)).thenReturn(Optional.of(user));
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(meterRegistry);
+        ReflectionTestUtils.setField(verifiedTokenCache, "enabled", tokenCache);
+        ReflectionTestUtils.setField(verifiedTokenCache, "maxSize", 1_000L);
+        verifiedTokenCache.init();
+        JwtTokenProvider tokenProvider = new JwtTokenProvider(verifiedTokenCache);
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationMs", 3_600_000L);
+        tokenProvider.init();
+
+        UserPrincipalCache principalCache = new UserPrincipalCache(meterRegistry);
+        ReflectionTestUtils.setField(principalCache, "maxSize", 1_000L);
+        ReflectionTestUtils.setField(principalCache, "ttlMs", 300_000L);
+        principalCache.init();
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService(
+                userRepository, principalCache, new LoginAttemptTracker(meterRegistry));
+        ReflectionTestUtils.setField(userDetailsService, "principalSource", principalSource);
+
+        filter = new JwtAuthenticationFilter(tokenProvider, userDetailsService, new AuthStageTimers(meterRegistry));
+
+        request = new MockHttpServletRequest("GET", "/api/users/profile");
+        request.addHeader("Authorization", "Bearer " + tokenProvider.generateToken(UserPrincipal.create(user)));
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Object doFilter() throws Exception {
+        filter.doFilter(request, response, chain);
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+}
@@ -0,0 +1,62 @@
+package com.loginapp.benchmark;
+
+import com.loginapp.entity.User;
+import com.loginapp.security.JwtTokenProvider;
+import com.loginapp.security.UserPrincipal;
+import com.loginapp.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of issuing an access token in JwtTokenProvider, from an authenticated
+ * principal (login) and from a principal built off the user row (refresh).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtGenerationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-for-jmh-runs-must-be-long-enough-256-bits";
+
+    private JwtTokenProvider tokenProvider;
+    private Authentication authentication;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "enabled", false);
+        cache.init();
+        tokenProvider = new JwtTokenProvider(cache);
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationMs", 3_600_000L);
+        tokenProvider.init();
+
+        user = User.builder()
+                .id(42L)
+                .username("benchmark")
+                .email("benchmark@example.com")
+                .password("$2a$10$abcdefghijklmnopqrstuu5ZmYQ1Xx0jOZ0cE1yqJY2h3B3eJ4N6")
+                .build();
+        UserPrincipal principal = UserPrincipal.create(user);
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    @Benchmark
+    public String generateFromAuthentication() {
+        return tokenProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public String generateFromUser() {
+        return tokenProvider.generateToken(UserPrincipal.create(user));
+    }
+}
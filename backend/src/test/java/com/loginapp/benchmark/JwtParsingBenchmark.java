@@ -0,0 +1,87 @@
+package com.loginapp.benchmark;
+
+import com.loginapp.security.JwtClaims;
+import com.loginapp.security.JwtTokenProvider;
+import com.loginapp.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating a bearer token in JwtAuthenticationFilter.
+ * {@code legacyValidateThenExtract} reproduces the old path (two parser builds and
+ * two signature checks); {@code parseAndValidate} is the current single-parse path and
+ * {@code cachedParseAndValidate} the same path with the verified-token cache enabled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtParsingBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-for-jmh-runs-must-be-long-enough-256-bits";
+
+    private JwtTokenProvider tokenProvider;
+    private JwtTokenProvider cachingTokenProvider;
+    private SecretKey key;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = newTokenProvider(false);
+        cachingTokenProvider = newTokenProvider(true);
+
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        Date now = new Date();
+        token = Jwts.builder()
+                .subject("42")
+                .claim("username", "benchmark")
+                .claim("email", "benchmark@example.com")
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + 3_600_000L))
+                .signWith(key)
+                .compact();
+    }
+
+    @Benchmark
+    public Long legacyValidateThenExtract() {
+        Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
+        return Long.parseLong(Jwts.parser().verifyWith(key).build()
+                .parseSignedClaims(token)
+                .getPayload()
+                .getSubject());
+    }
+
+    @Benchmark
+    public Optional<JwtClaims> parseAndValidate() {
+        return tokenProvider.parseAndValidate(token);
+    }
+
+    @Benchmark
+    public Optional<JwtClaims> cachedParseAndValidate() {
+        return cachingTokenProvider.parseAndValidate(token);
+    }
+
+    private static JwtTokenProvider newTokenProvider(boolean cacheEnabled) {
+        VerifiedTokenCache cache = new VerifiedTokenCache(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "enabled", cacheEnabled);
+        ReflectionTestUtils.setField(cache, "maxSize", 1_000L);
+        cache.init();
+
+        JwtTokenProvider provider = new JwtTokenProvider(cache);
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpirationMs", 3_600_000L);
+        provider.init();
+        return provider;
+    }
+}
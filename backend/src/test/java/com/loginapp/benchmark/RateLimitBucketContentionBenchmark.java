@@ -0,0 +1,65 @@
+package com.loginapp.benchmark;
+
+import com.loginapp.config.BucketLimits;
+import com.loginapp.config.InMemoryRateLimitStore;
+import com.loginapp.config.RateLimitBucket;
+import com.loginapp.config.RateLimitConfig;
+import com.loginapp.config.RateLimitKey;
+import com.loginapp.config.RateLimitPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RateLimitConfig bucket resolution plus a consume from 8 threads at once.
+ * {@code hotKey} has every thread hit the same client bucket (one busy IP);
+ * {@code spreadKeys} picks among {@code clients} addresses, which exercises the
+ * bucket cache lookup and, once the cache is full, eviction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class RateLimitBucketContentionBenchmark {
+
+    @Param({"1000", "100000"})
+    private int clients;
+
+    private RateLimitConfig rateLimitConfig;
+    private RateLimitPolicy policy;
+    private String[] clientIps;
+
+    @Setup
+    public void setUp() {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(store, "maxBuckets", 10_000L);
+        rateLimitConfig = new RateLimitConfig(store);
+        // Large enough that buckets never run dry during a run
+        policy = new RateLimitPolicy("general", List.of("/api/**"), RateLimitKey.IP,
+                BucketLimits.of(Long.MAX_VALUE / 2, Duration.ofMinutes(1)));
+        clientIps = new String[clients];
+        for (int i = 0; i < clients; i++) {
+            clientIps[i] = "10." + (i >>> 16 & 0xFF) + "." + (i >>> 8 & 0xFF) + "." + (i & 0xFF);
+        }
+    }
+
+    @Benchmark
+    public boolean hotKey() {
+        RateLimitBucket bucket = rateLimitConfig.resolveIpBucket(policy, clientIps[0]);
+        return bucket.tryConsume(1).isConsumed();
+    }
+
+    @Benchmark
+    public boolean spreadKeys() {
+        String clientIp = clientIps[ThreadLocalRandom.current().nextInt(clientIps.length)];
+        return rateLimitConfig.resolveIpBucket(policy, clientIp).tryConsume(1).isConsumed();
+    }
+}
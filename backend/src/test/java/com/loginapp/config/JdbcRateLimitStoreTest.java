@@ -0,0 +1,92 @@
+package com.loginapp.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JdbcRateLimitStoreTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void limitIsSharedAcrossReplicas() {
+        JdbcRateLimitStore replicaA = newStore(new SimpleMeterRegistry());
+        JdbcRateLimitStore replicaB = newStore(new SimpleMeterRegistry());
+
+        int allowed = 0;
+        for (int i = 0; i < 10; i++) {
+            JdbcRateLimitStore replica = i % 2 == 0 ? replicaA : replicaB;
+            if (replica.resolve("auth", "10.0.0.1", BucketLimits.of(5, Duration.ofMinutes(15))).tryConsume(1).isConsumed()) {
+                allowed++;
+            }
+        }
+
+        assertEquals(5, allowed);
+    }
+
+    @Test
+    void rejectionReportsWaitUntilRefill() {
+        JdbcRateLimitStore store = newStore(new SimpleMeterRegistry());
+        RateLimitBucket bucket = store.resolve("reset", "10.0.0.1", BucketLimits.of(3, Duration.ofHours(1)));
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(bucket.tryConsume(1).isConsumed());
+        }
+        RateLimitResult rejected = bucket.tryConsume(1);
+
+        assertFalse(rejected.isConsumed());
+        assertEquals(0, rejected.getRemainingTokens());
+        assertTrue(rejected.getNanosToWaitForRefill() > 0);
+    }
+
+    @Test
+    void tokensAreReservedInSlicesToSaveRoundTrips() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JdbcRateLimitStore store = newStore(meterRegistry);
+        RateLimitBucket bucket = store.resolve("general", "10.0.0.1", BucketLimits.of(100, Duration.ofMinutes(1)));
+
+        for (int i = 0; i < 20; i++) {
+            assertTrue(bucket.tryConsume(1).isConsumed());
+        }
+
+        assertEquals(2.0, meterRegistry.counter("rate.limit.store.reservations").count());
+        assertEquals(80L, jdbcTemplate.queryForObject(
+                "SELECT tokens FROM rate_limit_buckets WHERE bucket_key = ?", Long.class, "general:10.0.0.1"));
+    }
+
+    private JdbcRateLimitStore newStore(SimpleMeterRegistry meterRegistry) {
+        JdbcRateLimitStore store = new JdbcRateLimitStore(jdbcTemplate, meterRegistry);
+        ReflectionTestUtils.setField(store, "maxBuckets", 1_000L);
+        ReflectionTestUtils.setField(store, "reservationFraction", 0.1);
+        ReflectionTestUtils.setField(store, "createTable", true);
+        store.init();
+        return store;
+    }
+}
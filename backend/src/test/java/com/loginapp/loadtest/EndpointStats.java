@@ -0,0 +1,76 @@
+package com.loginapp.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram (microseconds, 3 significant digits) and error counts for
+ * one endpoint during one phase of a run.
+ */
+class EndpointStats {
+
+    private static final long MAX_LATENCY_US = TimeUnit.MINUTES.toMicros(5);
+
+    private final String name;
+    private final Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_US, 3);
+    private final LongAdder errors = new LongAdder();
+    private final Map<Integer, LongAdder> errorStatuses = new ConcurrentHashMap<>();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    void record(long elapsedNanos, int status) {
+        latencies.recordValue(Math.min(MAX_LATENCY_US, TimeUnit.NANOSECONDS.toMicros(elapsedNanos)));
+        if (status >= 400 || status < 0) {
+            errors.increment();
+            errorStatuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        }
+    }
+
+    String name() {
+        return name;
+    }
+
+    long count() {
+        return latencies.getTotalCount();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    /**
+     * One table row: count, errors, throughput and latency percentiles in milliseconds.
+     */
+    String summary(double seconds) {
+        return String.format("%-16s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f  %s",
+                name, count(), errors(), count() / seconds,
+                millis(50), millis(90), millis(99), millis(99.9), latencies.getMaxValue() / 1000.0,
+                errorStatuses.isEmpty() ? "" : "errors by status " + errorStatuses);
+    }
+
+    /**
+     * Write the full percentile distribution in HdrHistogram's .hgrm format.
+     */
+    void writeDistribution(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        try (PrintStream out = new PrintStream(new FileOutputStream(directory.resolve(name + ".hgrm").toFile()))) {
+            latencies.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private double millis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,259 @@
+package com.loginapp.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loginapp.LoginApplication;
+import com.loginapp.entity.EmailVerificationToken;
+import com.loginapp.repository.EmailVerificationTokenRepository;
+import com.loginapp.repository.UserRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load generator for the whole API. It boots the application in
+ * this JVM with the test profile (in-memory H2) on a random port, then runs
+ * {@code load.users} virtual users, each on its own virtual thread, for a warm-up
+ * and a measured phase. Each user repeats:
+ * register, verify email, login, {@code load.profile-calls} x GET profile, refresh, logout.
+ * The verification token is read from the repository, since email delivery
+ * only logs in this setup. Throughput and HDR latency percentiles are printed
+ * per endpoint, and full distributions are written as .hgrm files.
+ *
+ * <p>Being closed-loop, a slow server also slows the offered load, so the
+ * percentiles understate what an open arrival rate would see at the same throughput.
+ *
+ * <p>Settings (system properties): load.users (100), load.warmup (15s),
+ * load.duration (60s), load.profile-calls (20), load.virtual-threads (false),
+ * load.rate-limit-capacity (1000000000 per minute, for every endpoint),
+ * load.bcrypt-strength (10), load.output (target/load-test).
+ */
+public final class LoadTestHarness {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final String PASSWORD = "LoadTest123!";
+    private static final String[] ENDPOINTS = {"register", "verify-email", "login", "profile", "refresh", "logout"};
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final AtomicLong userSequence = new AtomicLong();
+    private final String baseUrl;
+    private final int profileCalls;
+    private final UserRepository userRepository;
+    private final EmailVerificationTokenRepository verificationTokenRepository;
+    private volatile Map<String, EndpointStats> stats = newStats();
+    private volatile boolean running = true;
+
+    private LoadTestHarness(String baseUrl, int profileCalls, ConfigurableApplicationContext context) {
+        this.baseUrl = baseUrl;
+        this.profileCalls = profileCalls;
+        this.userRepository = context.getBean(UserRepository.class);
+        this.verificationTokenRepository = context.getBean(EmailVerificationTokenRepository.class);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("load.users", 100);
+        Duration warmup = Duration.parse("PT" + System.getProperty("load.warmup", "15s"));
+        Duration duration = Duration.parse("PT" + System.getProperty("load.duration", "60s"));
+        int profileCalls = Integer.getInteger("load.profile-calls", 20);
+        boolean virtualThreads = Boolean.parseBoolean(System.getProperty("load.virtual-threads", "false"));
+        String rateLimitCapacity = System.getProperty("load.rate-limit-capacity", "1000000000");
+        String bcryptStrength = System.getProperty("load.bcrypt-strength", "10");
+        Path output = Path.of(System.getProperty("load.output", "target/load-test"));
+
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        // Passed as command-line arguments, which outrank application.yml and
+        // application-test.yml; builder properties() would be defaults and lose to both
+        List<String> overrides = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.com.loginapp=WARN",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--app.security.password-hashing.strength=" + bcryptStrength,
+                // One permissive policy replaces the configured list, so limits don't mask capacity
+                "--app.rate-limit.policy-file=",
+                "--app.rate-limit.default-policy=general",
+                "--app.rate-limit.policies[0].name=general",
+                "--app.rate-limit.policies[0].paths[0]=/api/**",
+                "--app.rate-limit.policies[0].key=IP",
+                "--app.rate-limit.policies[0].bandwidths[0].capacity=" + rateLimitCapacity,
+                "--app.rate-limit.policies[0].bandwidths[0].period=1m"));
+        overrides.addAll(List.of(args));
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(LoginApplication.class)
+                .profiles("test")
+                .run(overrides.toArray(String[]::new));
+        try {
+            Environment environment = context.getEnvironment();
+            String port = environment.getProperty("local.server.port");
+            LoadTestHarness harness = new LoadTestHarness("http://localhost:" + port, profileCalls, context);
+            System.out.printf("Load test: %d users, %s warm-up, %s measured, %d profile calls per session, "
+                            + "virtual threads %s, BCrypt cost %s, rate limit %s per minute%n",
+                    users, warmup, duration, profileCalls,
+                    environment.getProperty("spring.threads.virtual.enabled"),
+                    environment.getProperty("app.security.password-hashing.strength"),
+                    environment.getProperty("app.rate-limit.policies[0].bandwidths[0].capacity"));
+            harness.run(users, warmup, duration, output);
+        } finally {
+            context.close();
+        }
+    }
+
+    private void run(int users, Duration warmup, Duration duration, Path output) throws Exception {
+        CountDownLatch finished = new CountDownLatch(users);
+        try (ExecutorService virtualUsers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < users; i++) {
+                virtualUsers.submit(() -> {
+                    try {
+                        while (running) {
+                            session();
+                        }
+                    } finally {
+                        finished.countDown();
+                    }
+                });
+            }
+            Thread.sleep(warmup.toMillis());
+            stats = newStats();
+            long start = System.nanoTime();
+            Thread.sleep(duration.toMillis());
+            Map<String, EndpointStats> measured = stats;
+            double seconds = (System.nanoTime() - start) / 1e9;
+            running = false;
+            finished.await(1, TimeUnit.MINUTES);
+            report(measured, seconds, output);
+        }
+    }
+
+    /**
+     * One user session; stops at the first failed step.
+     */
+    private void session() {
+        String username = "load" + userSequence.incrementAndGet();
+        try {
+            String signup = JSON.writeValueAsString(Map.of(
+                    "username", username,
+                    "email", username + "@loadtest.local",
+                    "password", PASSWORD,
+                    "firstName", "Load",
+                    "lastName", "Test"));
+            if (send("register", post("/api/auth/register", signup, null)) == null) {
+                return;
+            }
+            String verificationToken = verificationToken(username);
+            if (verificationToken == null || send("verify-email",
+                    post("/api/auth/verify-email?token=" + verificationToken, "", null)) == null) {
+                return;
+            }
+            JsonNode login = send("login", post("/api/auth/login",
+                    JSON.writeValueAsString(Map.of("username", username, "password", PASSWORD)), null));
+            if (login == null) {
+                return;
+            }
+            String accessToken = login.path("accessToken").asText();
+            for (int i = 0; i < profileCalls && running; i++) {
+                if (send("profile", get("/api/users/profile", accessToken)) == null) {
+                    return;
+                }
+            }
+            JsonNode refreshed = send("refresh", post("/api/auth/refresh",
+                    JSON.writeValueAsString(Map.of("refreshToken", login.path("refreshToken").asText())), null));
+            if (refreshed == null) {
+                return;
+            }
+            send("logout", post("/api/auth/logout", "", refreshed.path("accessToken").asText()));
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private String verificationToken(String username) {
+        return userRepository.findByUsername(username)
+                .flatMap(user -> verificationTokenRepository.findByUserAndUsedFalseAndExpiryDateAfter(user, Instant.now()))
+                .map(EmailVerificationToken::getToken)
+                .orElse(null);
+    }
+
+    /**
+     * Send a request and record its latency; the parsed body on 2xx, otherwise null.
+     */
+    private JsonNode send(String endpoint, HttpRequest request) {
+        EndpointStats endpointStats = stats.get(endpoint);
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            endpointStats.record(System.nanoTime() - start, response.statusCode());
+            if (response.statusCode() >= 300) {
+                return null;
+            }
+            return response.body().length == 0 ? JSON.createObjectNode() : JSON.readTree(response.body());
+        } catch (IOException ex) {
+            endpointStats.record(System.nanoTime() - start, -1);
+            return null;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            running = false;
+            return null;
+        }
+    }
+
+    private HttpRequest post(String path, String body, String accessToken) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (accessToken != null) {
+            builder.header("Authorization", "Bearer " + accessToken);
+        }
+        return builder.build();
+    }
+
+    private HttpRequest get(String path, String accessToken) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + accessToken)
+                .GET()
+                .build();
+    }
+
+    private static Map<String, EndpointStats> newStats() {
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        for (String endpoint : ENDPOINTS) {
+            stats.put(endpoint, new EndpointStats(endpoint));
+        }
+        return stats;
+    }
+
+    private static void report(Map<String, EndpointStats> stats, double seconds, Path output) throws IOException {
+        System.out.printf("%nMeasured %.1f s; latencies in ms%n", seconds);
+        System.out.printf("%-16s %9s %7s %10s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50", "p90", "p99", "p99.9", "max");
+        long total = 0;
+        for (EndpointStats endpointStats : stats.values()) {
+            System.out.println(endpointStats.summary(seconds));
+            endpointStats.writeDistribution(output);
+            total += endpointStats.count();
+        }
+        System.out.printf("%-16s %9d %18.1f%n", "all", total, total / seconds);
+        System.out.printf("Percentile distributions written to %s%n", output.toAbsolutePath());
+    }
+}
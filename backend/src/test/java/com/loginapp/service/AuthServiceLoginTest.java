@@ -0,0 +1,70 @@
+package com.loginapp.service;
+
+import com.loginapp.dto.JwtResponse;
+import com.loginapp.dto.LoginRequest;
+import com.loginapp.entity.User;
+import com.loginapp.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.audit.async.enabled=false",
+        "app.security.password-hashing.strength=4"
+})
+@ActiveProfiles("test")
+class AuthServiceLoginTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void loginLoadsTheUserOnce() {
+        userRepository.save(User.builder()
+                .username("roundtrip")
+                .email("roundtrip@example.com")
+                .password(passwordEncoder.encode("Password1!"))
+                .isActive(true)
+                .isVerified(true)
+                .build());
+        LoginRequest request = new LoginRequest("roundtrip", "Password1!");
+
+        // The first login allocates the id blocks for refresh tokens and audit logs
+        authService.login(request, "127.0.0.1");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        JwtResponse response = authService.login(request, "127.0.0.1");
+
+        assertThat(response.getAccessToken()).isNotBlank();
+        // SELECT user, INSERT refresh token, UPDATE last_login, INSERT audit log
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+        assertThat(userRepository.findById(response.getId()).orElseThrow().getLastLogin()).isNotNull();
+    }
+}
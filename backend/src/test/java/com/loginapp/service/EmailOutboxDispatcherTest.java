@@ -0,0 +1,112 @@
+package com.loginapp.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.loginapp.entity.EmailOutbox;
+import com.loginapp.repository.EmailOutboxRepository;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "app.email.outbox.initial-delay=3600000"
+})
+@ActiveProfiles("test")
+class EmailOutboxDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private EmailOutboxDispatcher dispatcher;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void clearOutbox() {
+        emailOutboxRepository.deleteAll();
+    }
+
+    @Test
+    void sendsQueuedEmailsInOneBatch() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> {
+            emailService.sendPasswordResetEmail("alice@example.com", "reset-token");
+            emailService.sendVerificationEmail("bob@example.com", "verify-token");
+        });
+
+        dispatcher.dispatch();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(2);
+        assertThat(received).extracting(MimeMessage::getSubject)
+                .anyMatch(subject -> subject.startsWith("Password Reset Request"))
+                .anyMatch(subject -> subject.startsWith("Verify Your Email"));
+        assertThat(emailOutboxRepository.findAll())
+                .allMatch(email -> email.getStatus() == EmailOutbox.Status.SENT && email.getSentAt() != null);
+    }
+
+    @Test
+    void schedulesRetryWithBackoffWhenSmtpIsDown() {
+        greenMail.stop();
+        transactionTemplate.executeWithoutResult(status ->
+                emailService.sendVerificationEmail("carol@example.com", "verify-token"));
+
+        dispatcher.dispatch();
+
+        List<EmailOutbox> outbox = emailOutboxRepository.findAll();
+        assertThat(outbox).hasSize(1);
+        EmailOutbox email = outbox.get(0);
+        assertThat(email.getStatus()).isEqualTo(EmailOutbox.Status.PENDING);
+        assertThat(email.getAttempts()).isEqualTo(1);
+        assertThat(email.getLastError()).isNotBlank();
+        assertThat(email.getNextAttemptAt()).isAfter(LocalDateTime.now());
+    }
+
+    @Test
+    void skipsMessagesClaimedByAnotherDispatcher() {
+        transactionTemplate.executeWithoutResult(status ->
+                emailService.sendVerificationEmail("erin@example.com", "verify-token"));
+        EmailOutbox claimed = emailOutboxRepository.findAll().get(0);
+        claimed.setStatus(EmailOutbox.Status.SENDING);
+        claimed.setNextAttemptAt(LocalDateTime.now().plusMinutes(5));
+        emailOutboxRepository.save(claimed);
+
+        dispatcher.dispatch();
+
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+        assertThat(emailOutboxRepository.findAll()).singleElement()
+                .extracting(EmailOutbox::getStatus).isEqualTo(EmailOutbox.Status.SENDING);
+    }
+
+    @Test
+    void rolledBackTransactionQueuesNothing() {
+        transactionTemplate.executeWithoutResult(status -> {
+            emailService.sendVerificationEmail("dave@example.com", "verify-token");
+            status.setRollbackOnly();
+        });
+
+        dispatcher.dispatch();
+
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+        assertThat(emailOutboxRepository.count()).isZero();
+    }
+}
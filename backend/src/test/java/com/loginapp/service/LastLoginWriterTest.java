@@ -0,0 +1,82 @@
+package com.loginapp.service;
+
+import com.loginapp.dto.JwtResponse;
+import com.loginapp.dto.LoginRequest;
+import com.loginapp.entity.User;
+import com.loginapp.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.audit.async.enabled=false",
+        "app.last-login.write-behind.enabled=true",
+        "app.last-login.write-behind.flush-interval=3600000",
+        "app.security.password-hashing.strength=4"
+})
+@ActiveProfiles("test")
+class LastLoginWriterTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private LastLoginWriter lastLoginWriter;
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void loginDefersLastLoginUntilFlush() {
+        userRepository.save(User.builder()
+                .username("writebehind")
+                .email("writebehind@example.com")
+                .password(passwordEncoder.encode("Password1!"))
+                .isActive(true)
+                .isVerified(true)
+                .build());
+        LoginRequest request = new LoginRequest("writebehind", "Password1!");
+
+        // The first login allocates the id blocks for refresh tokens and audit logs
+        authService.login(request, "127.0.0.1");
+        lastLoginWriter.flush();
+        LocalDateTime firstLogin = userRepository.findByUsername("writebehind").orElseThrow().getLastLogin();
+        assertThat(firstLogin).isNotNull();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        JwtResponse response = authService.login(request, "127.0.0.1");
+
+        // SELECT user, INSERT refresh token, INSERT audit log; no UPDATE until the flush
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(userRepository.findById(response.getId()).orElseThrow().getLastLogin()).isEqualTo(firstLogin);
+
+        lastLoginWriter.flush();
+
+        assertThat(userRepository.findById(response.getId()).orElseThrow().getLastLogin()).isAfter(firstLogin);
+    }
+}
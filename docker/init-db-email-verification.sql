@@ -1,6 +1,9 @@
 -- Email Verification Tokens Table
+-- Ids are allocated by Hibernate in blocks of 50 (pooled-lo optimizer)
+CREATE SEQUENCE IF NOT EXISTS email_verification_tokens_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS email_verification_tokens (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGINT PRIMARY KEY DEFAULT nextval('email_verification_tokens_seq'),
     token VARCHAR(255) UNIQUE NOT NULL,
     user_id BIGINT NOT NULL,
     expiry_date TIMESTAMP NOT NULL,
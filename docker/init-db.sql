@@ -1,9 +1,18 @@
 -- Initialize database for loginapp
 -- This script runs when the PostgreSQL container is first created
 
+-- Id sequences. Hibernate allocates ids in blocks of 50 (pooled-lo optimizer),
+-- so INCREMENT BY must match the entity allocationSize.
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS refresh_tokens_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS audit_logs_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS email_outbox_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS password_reset_tokens_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS email_verification_tokens_seq START WITH 1 INCREMENT BY 50;
+
 -- Create users table
 CREATE TABLE IF NOT EXISTS users (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGINT PRIMARY KEY DEFAULT nextval('users_seq'),
     username VARCHAR(50) UNIQUE NOT NULL,
     email VARCHAR(100) UNIQUE NOT NULL,
     password VARCHAR(255) NOT NULL,
@@ -18,32 +27,87 @@ CREATE TABLE IF NOT EXISTS users (
 
 -- Create refresh tokens table
 CREATE TABLE IF NOT EXISTS refresh_tokens (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGINT PRIMARY KEY DEFAULT nextval('refresh_tokens_seq'),
     user_id BIGINT NOT NULL,
-    token VARCHAR(255) UNIQUE NOT NULL,
+    token_hash BYTEA UNIQUE NOT NULL,  -- SHA-256 of the token, 32 bytes
+    family_id UUID NOT NULL,
+    revoked BOOLEAN NOT NULL DEFAULT FALSE,
     expiry_date TIMESTAMP NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
 );
 
--- Create audit log table
+-- Create audit log table, range-partitioned by month on created_at.
+-- The primary key must include the partition key.
 CREATE TABLE IF NOT EXISTS audit_logs (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGINT NOT NULL DEFAULT nextval('audit_logs_seq'),
     user_id BIGINT,
     action VARCHAR(100) NOT NULL,
     details TEXT,
     ip_address VARCHAR(45),
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at),
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE SET NULL
+) PARTITION BY RANGE (created_at);
+
+-- Partitions for the current and next three months; the application keeps
+-- creating future ones and drops those past the retention period
+DO $$
+DECLARE
+    month_start TIMESTAMP := date_trunc('month', CURRENT_DATE);
+BEGIN
+    FOR i IN 0..3 LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF audit_logs FOR VALUES FROM (%L) TO (%L)',
+                'audit_logs_' || to_char(month_start + make_interval(months => i), 'YYYY_MM'),
+                month_start + make_interval(months => i),
+                month_start + make_interval(months => i + 1));
+    END LOOP;
+END $$;
+
+-- Catches rows outside every monthly partition instead of failing the insert
+CREATE TABLE IF NOT EXISTS audit_logs_default PARTITION OF audit_logs DEFAULT;
+
+-- Shared rate-limit buckets (used when app.rate-limit.store=jdbc)
+CREATE TABLE IF NOT EXISTS rate_limit_buckets (
+    bucket_key VARCHAR(255) PRIMARY KEY,
+    tokens BIGINT NOT NULL,
+    refill_anchor BIGINT NOT NULL,
+    expires_at BIGINT NOT NULL,
+    version BIGINT NOT NULL
+);
+
+-- Outbound emails, written in the same transaction as the change that sends them
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id BIGINT PRIMARY KEY DEFAULT nextval('email_outbox_seq'),
+    recipient VARCHAR(100) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    body TEXT NOT NULL,
+    html BOOLEAN NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    sent_at TIMESTAMP
+);
+
+-- Leases for scheduled jobs that must run on a single replica
+CREATE TABLE IF NOT EXISTS scheduler_locks (
+    lock_name VARCHAR(64) PRIMARY KEY,
+    locked_until BIGINT NOT NULL,
+    locked_by VARCHAR(255) NOT NULL
 );
 
 -- Create indexes for better performance
 CREATE INDEX idx_users_username ON users(username);
 CREATE INDEX idx_users_email ON users(email);
 CREATE INDEX idx_refresh_tokens_user_id ON refresh_tokens(user_id);
-CREATE INDEX idx_refresh_tokens_token ON refresh_tokens(token);
-CREATE INDEX idx_audit_logs_user_id ON audit_logs(user_id);
+CREATE INDEX idx_refresh_tokens_family_id ON refresh_tokens(family_id);
+CREATE INDEX idx_refresh_tokens_expiry_date ON refresh_tokens(expiry_date);
+CREATE INDEX idx_audit_logs_user_id_created_at ON audit_logs(user_id, created_at DESC, id DESC);
 CREATE INDEX idx_audit_logs_created_at ON audit_logs(created_at);
+CREATE INDEX idx_email_outbox_status_next_attempt ON email_outbox(status, next_attempt_at);
+CREATE INDEX idx_rate_limit_buckets_expires_at ON rate_limit_buckets(expires_at);
 
 -- Insert a test user (password: Test123!)
 -- Password hash for 'Test123!' using BCrypt
@@ -63,7 +127,7 @@ GRANT ALL PRIVILEGES ON ALL TABLES IN SCHEMA public TO postgres;
 GRANT ALL PRIVILEGES ON ALL SEQUENCES IN SCHEMA public TO postgres;
 -- Password Reset Tokens Table
 CREATE TABLE IF NOT EXISTS password_reset_tokens (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGINT PRIMARY KEY DEFAULT nextval('password_reset_tokens_seq'),
     token VARCHAR(255) UNIQUE NOT NULL,
     user_id BIGINT NOT NULL,
     expiry_date TIMESTAMP NOT NULL,
@@ -84,7 +148,7 @@ COMMENT ON COLUMN password_reset_tokens.expiry_date IS 'Token expiration timesta
 COMMENT ON COLUMN password_reset_tokens.used IS 'Whether the token has been used';
 -- Email Verification Tokens Table
 CREATE TABLE IF NOT EXISTS email_verification_tokens (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGINT PRIMARY KEY DEFAULT nextval('email_verification_tokens_seq'),
     token VARCHAR(255) UNIQUE NOT NULL,
     user_id BIGINT NOT NULL,
     expiry_date TIMESTAMP NOT NULL,
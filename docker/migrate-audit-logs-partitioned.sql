@@ -0,0 +1,55 @@
+-- Convert an existing, unpartitioned audit_logs table into a monthly
+-- range-partitioned one. Run once during a maintenance window.
+BEGIN;
+
+ALTER TABLE audit_logs RENAME TO audit_logs_unpartitioned;
+ALTER INDEX IF EXISTS idx_audit_logs_user_id RENAME TO idx_audit_logs_unpartitioned_user_id;
+ALTER INDEX IF EXISTS idx_audit_logs_created_at RENAME TO idx_audit_logs_unpartitioned_created_at;
+
+-- Before the switch to sequence ids the column used audit_logs_id_seq
+CREATE SEQUENCE IF NOT EXISTS audit_logs_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE audit_logs (
+    id BIGINT NOT NULL DEFAULT nextval('audit_logs_seq'),
+    user_id BIGINT,
+    action VARCHAR(100) NOT NULL,
+    details TEXT,
+    ip_address VARCHAR(45),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE SET NULL
+) PARTITION BY RANGE (created_at);
+
+-- One partition per month from the oldest row up to three months ahead
+DO $$
+DECLARE
+    month_start TIMESTAMP := date_trunc('month',
+            COALESCE((SELECT MIN(created_at) FROM audit_logs_unpartitioned), CURRENT_DATE));
+    last_month TIMESTAMP := date_trunc('month', CURRENT_DATE) + INTERVAL '3 months';
+BEGIN
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF audit_logs FOR VALUES FROM (%L) TO (%L)',
+                'audit_logs_' || to_char(month_start, 'YYYY_MM'),
+                month_start,
+                month_start + INTERVAL '1 month');
+        month_start := month_start + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+-- Catches rows outside every monthly partition instead of failing the insert
+CREATE TABLE IF NOT EXISTS audit_logs_default PARTITION OF audit_logs DEFAULT;
+
+INSERT INTO audit_logs (id, user_id, action, details, ip_address, created_at)
+SELECT id, user_id, action, details, ip_address, COALESCE(created_at, CURRENT_TIMESTAMP)
+FROM audit_logs_unpartitioned;
+
+-- Continue past the copied ids, never moving the sequence backwards
+SELECT setval('audit_logs_seq',
+        GREATEST((SELECT COALESCE(MAX(id), 0) + 1 FROM audit_logs), nextval('audit_logs_seq')), false);
+
+CREATE INDEX idx_audit_logs_user_id_created_at ON audit_logs(user_id, created_at DESC, id DESC);
+CREATE INDEX idx_audit_logs_created_at ON audit_logs(created_at);
+
+DROP TABLE audit_logs_unpartitioned;
+
+COMMIT;
@@ -0,0 +1,21 @@
+-- Migrate existing databases from SERIAL/IDENTITY ids to the *_seq sequences
+-- Hibernate allocates from in blocks of 50 (pooled-lo optimizer).
+-- Run this before starting the new version: otherwise schema update creates the
+-- sequences starting at 1 and new rows collide with existing ids.
+-- Each sequence restarts past the table's highest id, and the id column default
+-- moves to it so raw SQL inserts keep working. Safe to run more than once.
+DO $$
+DECLARE
+    table_name TEXT;
+    next_id BIGINT;
+BEGIN
+    FOREACH table_name IN ARRAY ARRAY[
+            'users', 'refresh_tokens', 'audit_logs', 'password_reset_tokens', 'email_verification_tokens'] LOOP
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I START WITH 1 INCREMENT BY 50', table_name || '_seq');
+        EXECUTE format('SELECT COALESCE(max(id), 0) + 1 FROM %I', table_name) INTO next_id;
+        PERFORM setval(table_name || '_seq', GREATEST(next_id, nextval(table_name || '_seq')), false);
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY IF EXISTS', table_name);
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET DEFAULT nextval(%L)', table_name, table_name || '_seq');
+        EXECUTE format('DROP SEQUENCE IF EXISTS %I', table_name || '_id_seq');
+    END LOOP;
+END $$;